@@ -0,0 +1,112 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Набор данных для бенчмарков: 2000 пользователей, у каждого 10 вещей,
+// на каждую вещь 5 бронирований (прошлые, текущее, будущие) и 2 комментария.
+// Данные детерминированы (фиксированный seed), чтобы прогоны были сравнимы.
+public final class BenchmarkDataset {
+    public static final int USERS = 2_000;
+    public static final int ITEMS_PER_OWNER = 10;
+    public static final int BOOKINGS_PER_ITEM = 5;
+    public static final int COMMENTS_PER_ITEM = 2;
+
+    private static final int CHUNK_SIZE = 5_000;
+    private static final String[] NAMES = {
+        "Дрель", "Перфоратор", "Лестница", "Палатка", "Велосипед",
+        "Шуруповёрт", "Пила", "Спальник", "Проектор", "Самокат"
+    };
+
+    private final List<User> users = new ArrayList<>(USERS);
+    private final List<Item> items = new ArrayList<>(USERS * ITEMS_PER_OWNER);
+
+    private BenchmarkDataset() {
+    }
+
+    public static BenchmarkDataset load(ConfigurableApplicationContext context) {
+        BenchmarkDataset dataset = new BenchmarkDataset();
+        dataset.fill(context);
+        return dataset;
+    }
+
+    public User owner(int index) {
+        return users.get(index % users.size());
+    }
+
+    private void fill(ConfigurableApplicationContext context) {
+        TransactionTemplate tx = context.getBean(TransactionTemplate.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<User> newUsers = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            newUsers.add(new User(null, "User " + i, "user" + i + "@mail.com"));
+        }
+        users.addAll(saveInChunks(tx, newUsers, userRepository::saveAll));
+
+        List<Item> newItems = new ArrayList<>(USERS * ITEMS_PER_OWNER);
+        for (User owner : users) {
+            for (int i = 0; i < ITEMS_PER_OWNER; i++) {
+                String name = NAMES[random.nextInt(NAMES.length)];
+                newItems.add(new Item(null, name + " " + owner.getId() + "-" + i,
+                        name + " в хорошем состоянии, можно забрать в выходные", owner, random.nextInt(10) > 0, null));
+            }
+        }
+        items.addAll(saveInChunks(tx, newItems, itemRepository::saveAll));
+
+        List<Booking> bookings = new ArrayList<>(items.size() * BOOKINGS_PER_ITEM);
+        List<Comment> comments = new ArrayList<>(items.size() * COMMENTS_PER_ITEM);
+        for (Item item : items) {
+            // неделя на бронирование: две в прошлом, текущая и две в будущем
+            for (int week = 0; week < BOOKINGS_PER_ITEM; week++) {
+                LocalDateTime start = now.minusWeeks(2).plusWeeks(week).minusDays(1);
+                Status status = week < 3 || random.nextBoolean() ? Status.APPROVED : Status.WAITING;
+                bookings.add(new Booking(null, start, start.plusDays(5), item, anotherUser(random, item), status));
+            }
+            for (int c = 0; c < COMMENTS_PER_ITEM; c++) {
+                comments.add(new Comment(null, "Всё отлично, спасибо! #" + c, now.minusDays(10 - c), item,
+                        anotherUser(random, item)));
+            }
+        }
+        saveInChunks(tx, bookings, bookingRepository::saveAll);
+        saveInChunks(tx, comments, commentRepository::saveAll);
+    }
+
+    private User anotherUser(Random random, Item item) {
+        User user = users.get(random.nextInt(users.size()));
+        return user.getId().equals(item.getOwner().getId()) ? owner(users.indexOf(user) + 1) : user;
+    }
+
+    private static <T> List<T> saveInChunks(TransactionTemplate tx, List<T> entities, Saver<T> saver) {
+        List<T> saved = new ArrayList<>(entities.size());
+        for (int from = 0; from < entities.size(); from += CHUNK_SIZE) {
+            List<T> chunk = entities.subList(from, Math.min(from + CHUNK_SIZE, entities.size()));
+            saved.addAll(tx.execute(status -> saver.saveAll(chunk)));
+        }
+        return saved;
+    }
+
+    @FunctionalInterface
+    private interface Saver<T> {
+        List<T> saveAll(Iterable<T> entities);
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.benchmark;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Мапперы на горячих путях: каждая вещь в списке владельца и каждое бронирование в ленте проходят через них.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    private User owner;
+    private Item item;
+    private Booking booking;
+    private List<Comment> comments;
+    private List<CommentDto> commentDtos;
+    private BookingShortDto lastBooking;
+    private BookingShortDto nextBooking;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        owner = new User(1L, "Owner", "owner@mail.com");
+        User booker = new User(2L, "Booker", "booker@mail.com");
+        ItemRequest request = new ItemRequest(3L, "Нужна дрель", booker, now.minusDays(3));
+        item = new Item(4L, "Дрель", "Дрель в хорошем состоянии", owner, true, request);
+        booking = new Booking(5L, now.plusDays(1), now.plusDays(2), item, booker, Status.APPROVED);
+        comments = List.of(
+                new Comment(6L, "Отличная дрель", now.minusDays(2), item, booker),
+                new Comment(7L, "Сверлит бетон", now.minusDays(1), item, booker),
+                new Comment(8L, "Спасибо!", now.minusHours(5), item, booker));
+        commentDtos = comments.stream().map(CommentMapper::toCommentDto).toList();
+        lastBooking = new BookingShortDto(9L, 2L);
+        nextBooking = new BookingShortDto(10L, 2L);
+    }
+
+    @Benchmark
+    public ItemDto itemToItemDto() {
+        return ItemMapper.toItemDto(item, comments);
+    }
+
+    @Benchmark
+    public ItemWithBookingsDto itemToItemWithBookingsDto() {
+        return ItemMapper.toItemWithBookingsDto(item, lastBooking, nextBooking, commentDtos, 42L);
+    }
+
+    @Benchmark
+    public BookingDto bookingToBookingDto() {
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public UserDto userToUserDto() {
+        return userMapper.toUserDto(owner);
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Поиск по подстроке (движок jpa) по 20 000 вещей: редкое слово, частое слово
+// и фраза из описания, которая есть у всех вещей, — худший случай для сортировки.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RepositoryBenchmark {
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 100);
+
+    @Param({"проектор 1999", "дрель", "в хорошем состоянии"})
+    private String text;
+
+    private ItemRepository itemRepository;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState server) {
+        itemRepository = server.bean(ItemRepository.class);
+    }
+
+    @Benchmark
+    public List<Item> search() {
+        return itemRepository.search(text, FIRST_PAGE);
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+
+// Контекст shareit-server без веб-слоя на встроенной H2 с набором данных BenchmarkDataset.
+// Поднимается один раз на форк JMH и общий для всех потоков бенчмарка.
+@State(Scope.Benchmark)
+public class ServerState {
+
+    // аргументы командной строки перекрывают application.properties сервера (там PostgreSQL)
+    private static final String[] ARGS = {
+        "--spring.datasource.url=jdbc:h2:mem:shareit-benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+                + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "--spring.jpa.show-sql=false",
+        "--shareit.search.engine=jpa",
+        "--logging.level.root=WARN",
+        "--logging.level.ru.practicum=WARN",
+        "--logging.level.org.springframework.transaction=WARN",
+        "--logging.level.org.springframework.transaction.interceptor=WARN",
+        "--logging.level.org.springframework.orm.jpa=WARN",
+        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"
+    };
+
+    private ConfigurableApplicationContext context;
+    private BenchmarkDataset dataset;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .run(ARGS);
+        dataset = BenchmarkDataset.load(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public BenchmarkDataset dataset() {
+        return dataset;
+    }
+}
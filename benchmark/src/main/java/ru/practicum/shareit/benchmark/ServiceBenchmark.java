@@ -0,0 +1,59 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Списки владельца — самые тяжёлые чтения сервера: вещи с last/next booking и превью комментариев,
+// бронирования по вещам владельца. Владелец меняется на каждом вызове, чтобы не мерить один и тот же план.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ServiceBenchmark {
+    private static final int OWNER_BOOKINGS_PAGE = 20;
+
+    private ItemService itemService;
+    private BookingService bookingService;
+    private BenchmarkDataset dataset;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState server) {
+        itemService = server.bean(ItemService.class);
+        bookingService = server.bean(BookingService.class);
+        dataset = server.dataset();
+    }
+
+    @Benchmark
+    public Collection<ItemWithBookingsDto> getAllItemsByOwner() {
+        return itemService.getAllItemsByOwner(nextOwnerId());
+    }
+
+    @Benchmark
+    public List<BookingDto> getOwnerBookings() {
+        return bookingService.getOwnerBookings(nextOwnerId(), "ALL", null, OWNER_BOOKINGS_PAGE);
+    }
+
+    private Long nextOwnerId() {
+        return dataset.owner(next++).getId();
+    }
+}
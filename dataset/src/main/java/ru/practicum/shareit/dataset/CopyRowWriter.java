@@ -0,0 +1,72 @@
+package ru.practicum.shareit.dataset;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Заливка в PostgreSQL через COPY ... FROM STDIN в формате CSV: строки уходят потоком,
+// без разбора и планирования INSERT на каждую. Пустое поле без кавычек — NULL,
+// строки всегда в кавычках, поэтому пустая строка остаётся пустой строкой.
+final class CopyRowWriter implements RowWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Table table;
+    private final Writer out;
+
+    CopyRowWriter(Connection connection, Table table) throws SQLException {
+        this.table = table;
+        String sql = "COPY " + table.tableName() + " (" + String.join(", ", table.columns())
+                + ") FROM STDIN (FORMAT csv)";
+        PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, BUFFER_SIZE);
+        this.out = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public void write(Object... values) throws SQLException {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeValue(values[i]);
+            }
+            out.write('\n');
+        } catch (IOException e) {
+            throw new SQLException("Ошибка COPY в " + table.tableName(), e);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new SQLException("Ошибка завершения COPY в " + table.tableName(), e);
+        }
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String text) {
+            out.write('"');
+            out.write(text.replace("\"", "\"\""));
+            out.write('"');
+        } else if (value instanceof LocalDateTime time) {
+            out.write(TIMESTAMP.format(time));
+        } else {
+            out.write(value.toString());
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package ru.practicum.shareit.dataset;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+// Генерирует строки всех таблиц по DatasetSpec в порядке внешних ключей, id — 1..N в каждой таблице.
+// Владельцы получают вещи по Ципфу (у первых — тысячи вещей, у хвоста — единицы), бронирования
+// и комментарии раздаются вещам по Ципфу популярности, поэтому у популярных вещей длинная история
+// и длинные ветки комментариев. Ранги перемешаны с id, чтобы «горячие» строки не шли подряд.
+// Бронирования одной вещи лежат в непересекающихся слотах окна [now - past-days, now + future-days),
+// так что подтверждённые не нарушают ex_bookings_item_approved_overlap. Комментарий пишет арендатор
+// одной из прошлых подтверждённых аренд вещи после её окончания, если такая аренда есть.
+final class DatasetGenerator {
+    private static final String[] NOUNS = {"Дрель", "Перфоратор", "Лестница", "Палатка", "Велосипед",
+        "Шуруповёрт", "Пила", "Спальник", "Проектор", "Самокат", "Байдарка", "Генератор"};
+    private static final String[] BRANDS = {"Bosch", "Makita", "Decathlon", "Stels", "Epson", "Xiaomi", "Зубр"};
+    private static final String[] CONDITIONS = {"В хорошем состоянии", "Почти новая", "Есть следы использования",
+        "После ремонта", "Полный комплект"};
+    private static final String[] PICKUPS = {"можно забрать в выходные", "забирать у метро",
+        "привезу по договорённости", "самовывоз вечером"};
+    private static final String[] REVIEWS = {"Всё отлично, спасибо!", "Работает как надо", "Хозяин пунктуальный",
+        "Немного потёрта, но своё дело сделала", "Возьму ещё раз"};
+    private static final long MIN_SLOT_SECONDS = 60;
+
+    private final DatasetSpec spec;
+    private final LocalDateTime now;
+    private final LocalDateTime windowStart;
+    private final long windowSeconds;
+    private final SplittableRandom random;
+
+    private int[] itemOwner;
+    private int[] bookingsPerItem;
+    private int[] commentsPerItem;
+    // по бронированиям в порядке id: арендатор, конец (секунды от windowStart), прошлая подтверждённая
+    private int[] bookingBooker;
+    private int[] bookingEnd;
+    private BitSet pastApproved;
+
+    DatasetGenerator(DatasetSpec spec, LocalDateTime now) {
+        this.spec = spec;
+        this.now = now.truncatedTo(ChronoUnit.SECONDS);
+        this.windowStart = this.now.minusDays(spec.getPastDays());
+        this.windowSeconds = ChronoUnit.SECONDS.between(windowStart, this.now.plusDays(spec.getFutureDays()));
+        if (windowSeconds > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Окно past-days + future-days длиннее 68 лет");
+        }
+        this.random = new SplittableRandom(spec.getSeed());
+    }
+
+    DatasetSummary generate(RowWriter.Factory writers) throws SQLException {
+        int[] bookerIds = shuffledIds(spec.getUsers());
+        ZipfSampler bookers = new ZipfSampler(spec.getUsers(), spec.getBookerSkew());
+        int[] itemIds = shuffledIds(spec.getItems());
+        ZipfSampler popularity = new ZipfSampler(spec.getItems(), spec.getItemSkew());
+
+        writeUsers(writers);
+        writeRequests(writers);
+        int[] ownerItems = writeItems(writers);
+        bookingsPerItem = distribute(spec.getBookings(), itemIds, popularity);
+        commentsPerItem = distribute(spec.getComments(), itemIds, popularity);
+        writeBookings(writers, bookerIds, bookers);
+        writeComments(writers);
+
+        int busiestOwner = argMax(ownerItems);
+        int mostBooked = argMax(bookingsPerItem);
+        int longestThread = argMax(commentsPerItem);
+        return new DatasetSummary(spec.getUsers(), spec.getRequests(), spec.getItems(), spec.getBookings(),
+                spec.getComments(), busiestOwner, ownerItems[busiestOwner], mostBooked, bookingsPerItem[mostBooked],
+                longestThread, commentsPerItem[longestThread]);
+    }
+
+    private void writeUsers(RowWriter.Factory writers) throws SQLException {
+        try (RowWriter users = writers.open(Table.USERS)) {
+            for (int id = 1; id <= spec.getUsers(); id++) {
+                users.write(id, "User " + id, "user" + id + "@mail.com");
+            }
+        }
+    }
+
+    private void writeRequests(RowWriter.Factory writers) throws SQLException {
+        try (RowWriter requests = writers.open(Table.REQUESTS)) {
+            for (int id = 1; id <= spec.getRequests(); id++) {
+                requests.write(id, "Нужна " + pick(NOUNS).toLowerCase() + " на " + (1 + random.nextInt(14)) + " дн.",
+                        randomUser(), now.minusSeconds(random.nextLong(spec.getPastDays() * 86_400L)));
+            }
+        }
+    }
+
+    // возвращает число вещей у каждого пользователя (индекс — id)
+    private int[] writeItems(RowWriter.Factory writers) throws SQLException {
+        int[] ownerIds = shuffledIds(spec.getUsers());
+        ZipfSampler owners = new ZipfSampler(spec.ownerCount(), spec.getOwnerSkew());
+        int[] ownerItems = new int[spec.getUsers() + 1];
+        itemOwner = new int[spec.getItems() + 1];
+
+        try (RowWriter items = writers.open(Table.ITEMS)) {
+            for (int id = 1; id <= spec.getItems(); id++) {
+                int owner = ownerIds[owners.sample(random)];
+                itemOwner[id] = owner;
+                ownerItems[owner]++;
+                Integer request = spec.getRequests() > 0 && random.nextDouble() < spec.getRequestItems()
+                        ? 1 + random.nextInt(spec.getRequests()) : null;
+                items.write(id, pick(NOUNS) + " " + pick(BRANDS) + " item " + id,
+                        pick(CONDITIONS) + ", " + pick(PICKUPS), owner,
+                        random.nextDouble() >= spec.getUnavailable(), request);
+            }
+        }
+        return ownerItems;
+    }
+
+    private void writeBookings(RowWriter.Factory writers, int[] bookerIds, ZipfSampler bookers) throws SQLException {
+        bookingBooker = new int[spec.getBookings()];
+        bookingEnd = new int[spec.getBookings()];
+        pastApproved = new BitSet(spec.getBookings());
+        long nowOffset = ChronoUnit.SECONDS.between(windowStart, now);
+
+        int index = 0;
+        try (RowWriter bookings = writers.open(Table.BOOKINGS)) {
+            for (int item = 1; item <= spec.getItems(); item++) {
+                int count = bookingsPerItem[item];
+                if (count == 0) {
+                    continue;
+                }
+                long slot = windowSeconds / count;
+                if (slot < MIN_SLOT_SECONDS) {
+                    throw new IllegalArgumentException("У вещи " + item + " " + count + " бронирований: в окне "
+                            + "past-days + future-days им не хватает места, уменьшите item-skew или bookings");
+                }
+                for (int i = 0; i < count; i++, index++) {
+                    // длина — от половины до целого слота, сдвиг — в пределах слота: соседние не пересекаются
+                    long length = slot / 2 + random.nextLong(slot / 2 + 1);
+                    long start = i * slot + random.nextLong(slot - length + 1);
+                    long end = start + length;
+                    String status = status(start, end, nowOffset);
+                    int booker = anotherUser(bookerIds, bookers, itemOwner[item]);
+
+                    bookingBooker[index] = booker;
+                    bookingEnd[index] = (int) end;
+                    if (end <= nowOffset && status.equals("APPROVED")) {
+                        pastApproved.set(index);
+                    }
+                    bookings.write(index + 1, windowStart.plusSeconds(start), windowStart.plusSeconds(end), status,
+                            item, booker);
+                }
+            }
+        }
+    }
+
+    private void writeComments(RowWriter.Factory writers) throws SQLException {
+        int id = 1;
+        int firstBooking = 0;
+        int[] approved = new int[argMaxValue(bookingsPerItem)];
+        try (RowWriter comments = writers.open(Table.COMMENTS)) {
+            for (int item = 1; item <= spec.getItems(); item++) {
+                int lastBooking = firstBooking + bookingsPerItem[item];
+                int approvedCount = 0;
+                for (int b = pastApproved.nextSetBit(firstBooking); b >= 0 && b < lastBooking;
+                     b = pastApproved.nextSetBit(b + 1)) {
+                    approved[approvedCount++] = b;
+                }
+                for (int c = 0; c < commentsPerItem[item]; c++, id++) {
+                    int author;
+                    LocalDateTime created;
+                    if (approvedCount > 0) {
+                        int booking = approved[random.nextInt(approvedCount)];
+                        author = bookingBooker[booking];
+                        LocalDateTime end = windowStart.plusSeconds(bookingEnd[booking]);
+                        created = end.plusSeconds(random.nextLong(ChronoUnit.SECONDS.between(end, now) + 1));
+                    } else {
+                        int user = randomUser();
+                        author = user != itemOwner[item] ? user : 1 + user % spec.getUsers();
+                        created = now.minusSeconds(random.nextLong(spec.getPastDays() * 86_400L));
+                    }
+                    comments.write(id, pick(REVIEWS) + " #" + id, created, item, author);
+                }
+                firstBooking = lastBooking;
+            }
+        }
+    }
+
+    private String status(long start, long end, long nowOffset) {
+        double roll = random.nextDouble();
+        if (end <= nowOffset) {
+            return roll < 0.85 ? "APPROVED" : roll < 0.95 ? "REJECTED" : "CANCELED";
+        }
+        if (start <= nowOffset) {
+            return roll < 0.9 ? "APPROVED" : "WAITING";
+        }
+        return roll < 0.4 ? "WAITING" : roll < 0.85 ? "APPROVED" : roll < 0.95 ? "REJECTED" : "CANCELED";
+    }
+
+    private int anotherUser(int[] ids, ZipfSampler sampler, int owner) {
+        int rank = sampler.sample(random);
+        return ids[rank] != owner ? ids[rank] : ids[(rank + 1) % ids.length];
+    }
+
+    private int randomUser() {
+        return 1 + random.nextInt(spec.getUsers());
+    }
+
+    // раскладывает total строк по вещам: вещь ранга k получает долю P(k)
+    private int[] distribute(int total, int[] itemIds, ZipfSampler popularity) {
+        int[] perItem = new int[spec.getItems() + 1];
+        for (int i = 0; i < total; i++) {
+            perItem[itemIds[popularity.sample(random)]]++;
+        }
+        return perItem;
+    }
+
+    private int[] shuffledIds(int n) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+        return ids;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int argMaxValue(int[] values) {
+        return values[argMax(values)];
+    }
+
+    private static int argMax(int[] values) {
+        int best = 1;
+        for (int i = 2; i < values.length; i++) {
+            if (values[i] > values[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.dataset;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Заливка набора в локальную базу для профилирования: параметры DatasetSpec плюс
+//   db-url, db-user, db-password  база со схемой сервера; по умолчанию — PostgreSQL из compose.yaml
+public final class DatasetGeneratorApp {
+
+    private DatasetGeneratorApp() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = "jdbc:postgresql://localhost:5432/shareit";
+        String user = "dbuser";
+        String password = "12345";
+        List<String> specArgs = new ArrayList<>();
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("db-url=")) {
+                url = value;
+            } else if (arg.startsWith("db-user=")) {
+                user = value;
+            } else if (arg.startsWith("db-password=")) {
+                password = value;
+            } else {
+                specArgs.add(arg);
+            }
+        }
+        DatasetSpec spec = DatasetSpec.parse(specArgs.toArray(String[]::new));
+
+        System.out.printf("Заливка в %s: %s%n", url, spec);
+        long started = System.nanoTime();
+        DatasetSummary summary;
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            summary = DatasetLoader.load(connection, spec);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        System.out.printf("Залито %d строк за %.1f с (%.0f строк/с)%n", summary.totalRows(),
+                elapsed.toMillis() / 1000.0, summary.totalRows() / Math.max(elapsed.toMillis() / 1000.0, 0.001));
+        System.out.printf("Больше всего вещей у пользователя %d: %d%n",
+                summary.busiestOwnerId(), summary.busiestOwnerItems());
+        System.out.printf("Больше всего бронирований у вещи %d: %d%n",
+                summary.mostBookedItemId(), summary.mostBookedItemBookings());
+        System.out.printf("Самая длинная ветка комментариев у вещи %d: %d%n",
+                summary.longestThreadItemId(), summary.longestThreadComments());
+    }
+}
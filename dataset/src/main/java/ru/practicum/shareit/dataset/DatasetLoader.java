@@ -0,0 +1,89 @@
+package ru.practicum.shareit.dataset;
+
+import org.postgresql.PGConnection;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+// Заливает набор DatasetSpec в пустую базу со схемой shareit-server (после миграций Flyway).
+// PostgreSQL — через COPY со снятыми на время заливки индексами (см. DeferredIndexes),
+// остальные базы — пакетным INSERT. Всё в одной транзакции:
+// при ошибке база остаётся пустой. После заливки последовательности <таблица>_seq сдвигаются
+// за последний id, чтобы приложение продолжило нумерацию, а в PostgreSQL обновляется статистика планировщика.
+public final class DatasetLoader {
+
+    private DatasetLoader() {
+    }
+
+    public static DatasetSummary load(DataSource dataSource, DatasetSpec spec) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return load(connection, spec);
+        }
+    }
+
+    public static DatasetSummary load(Connection connection, DatasetSpec spec) throws SQLException {
+        requireEmpty(connection);
+        boolean postgres = connection.isWrapperFor(PGConnection.class);
+        RowWriter.Factory writers = postgres
+                ? table -> new CopyRowWriter(connection, table)
+                : table -> new BatchRowWriter(connection, table, spec.getBatchSize());
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            DeferredIndexes deferred = postgres ? DeferredIndexes.drop(connection) : null;
+            DatasetSummary summary = new DatasetGenerator(spec, LocalDateTime.now()).generate(writers);
+            if (deferred != null) {
+                deferred.restore(connection);
+            }
+            restartSequences(connection, summary, postgres);
+            connection.commit();
+            return summary;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void requireEmpty(Connection connection) throws SQLException {
+        // остальные таблицы ссылаются на users, так что пустая users — пустая база
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT EXISTS (SELECT 1 FROM users)")) {
+            rs.next();
+            if (rs.getBoolean(1)) {
+                throw new IllegalStateException("Ожидается пустая база: в таблице users уже есть данные");
+            }
+        }
+    }
+
+    private static void restartSequences(Connection connection, DatasetSummary summary, boolean postgres)
+            throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            for (Table table : Table.values()) {
+                long next = rows(summary, table) + 1;
+                st.execute(postgres
+                        ? "SELECT setval('" + table.sequence() + "', " + next + ", false)"
+                        : "ALTER SEQUENCE " + table.sequence() + " RESTART WITH " + next);
+            }
+            if (postgres) {
+                st.execute("ANALYZE");
+            }
+        }
+    }
+
+    private static int rows(DatasetSummary summary, Table table) {
+        return switch (table) {
+            case USERS -> summary.users();
+            case REQUESTS -> summary.requests();
+            case ITEMS -> summary.items();
+            case BOOKINGS -> summary.bookings();
+            case COMMENTS -> summary.comments();
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.dataset;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Параметры набора данных в виде key=value:
+//   users, requests, items, bookings, comments  число строк в таблицах
+//   owners           доля пользователей, у которых есть вещи
+//   owner-skew       перекос распределения вещей по владельцам (показатель Ципфа, 0 — поровну)
+//   item-skew        перекос популярности вещей: по нему раздаются бронирования и комментарии
+//   booker-skew      перекос активности арендаторов
+//   request-items    доля вещей, добавленных в ответ на запрос
+//   unavailable      доля недоступных вещей
+//   past-days, future-days  окно бронирований вокруг текущего момента
+//   seed             зерно генератора: одинаковые параметры дают одинаковые данные
+//   batch-size       размер пачки INSERT, если база не PostgreSQL и COPY недоступен
+@Getter
+public final class DatasetSpec {
+    public static final Set<String> KEYS = Set.of("users", "requests", "items", "bookings", "comments", "owners",
+            "owner-skew", "item-skew", "booker-skew", "request-items", "unavailable", "past-days", "future-days",
+            "seed", "batch-size");
+
+    private int users = 20_000;
+    private int requests = 50_000;
+    private int items = 200_000;
+    private int bookings = 2_000_000;
+    private int comments = 500_000;
+
+    private double owners = 0.1;
+    private double ownerSkew = 1.1;
+    private double itemSkew = 0.8;
+    private double bookerSkew = 0.6;
+    private double requestItems = 0.1;
+    private double unavailable = 0.05;
+    private int pastDays = 730;
+    private int futureDays = 180;
+
+    private long seed = 42;
+    private int batchSize = 1_000;
+
+    private DatasetSpec() {
+    }
+
+    public static DatasetSpec defaults() {
+        return new DatasetSpec();
+    }
+
+    // DatasetSpec.parse("users=500", "items=5000", "item-skew=1.2"); неуказанные параметры — по умолчанию
+    public static DatasetSpec parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = eq > 0 ? arg.substring(0, eq).replaceFirst("^--", "") : arg;
+            if (eq < 0 || !KEYS.contains(key)) {
+                throw new IllegalArgumentException("Неизвестный параметр: " + arg + ", допустимые: " + KEYS);
+            }
+            values.put(key, arg.substring(eq + 1));
+        }
+
+        DatasetSpec spec = new DatasetSpec();
+        values.forEach((key, value) -> {
+            switch (key) {
+                case "users" -> spec.users = atLeast(key, value, 2);
+                case "requests" -> spec.requests = atLeast(key, value, 0);
+                case "items" -> spec.items = atLeast(key, value, 1);
+                case "bookings" -> spec.bookings = atLeast(key, value, 0);
+                case "comments" -> spec.comments = atLeast(key, value, 0);
+                case "owners" -> spec.owners = share(key, value);
+                case "owner-skew" -> spec.ownerSkew = skew(key, value);
+                case "item-skew" -> spec.itemSkew = skew(key, value);
+                case "booker-skew" -> spec.bookerSkew = skew(key, value);
+                case "request-items" -> spec.requestItems = share(key, value);
+                case "unavailable" -> spec.unavailable = share(key, value);
+                case "past-days" -> spec.pastDays = atLeast(key, value, 1);
+                case "future-days" -> spec.futureDays = atLeast(key, value, 1);
+                case "seed" -> spec.seed = Long.parseLong(value);
+                case "batch-size" -> spec.batchSize = atLeast(key, value, 1);
+                default -> throw new IllegalStateException(key);
+            }
+        });
+        return spec;
+    }
+
+    public int ownerCount() {
+        return Math.max(1, (int) Math.round(users * owners));
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", requests=" + requests + ", items=" + items + ", bookings=" + bookings
+                + ", comments=" + comments + ", owners=" + owners + ", owner-skew=" + ownerSkew
+                + ", item-skew=" + itemSkew + ", booker-skew=" + bookerSkew + ", request-items=" + requestItems
+                + ", unavailable=" + unavailable + ", past-days=" + pastDays + ", future-days=" + futureDays
+                + ", seed=" + seed;
+    }
+
+    private static int atLeast(String key, String value, int min) {
+        int number = Integer.parseInt(value);
+        if (number < min) {
+            throw new IllegalArgumentException(key + " должен быть не меньше " + min + ": " + value);
+        }
+        return number;
+    }
+
+    private static double share(String key, String value) {
+        double number = Double.parseDouble(value);
+        if (number < 0 || number > 1) {
+            throw new IllegalArgumentException(key + " — доля от 0 до 1: " + value);
+        }
+        return number;
+    }
+
+    private static double skew(String key, String value) {
+        double number = Double.parseDouble(value);
+        if (number < 0) {
+            throw new IllegalArgumentException(key + " не может быть отрицательным: " + value);
+        }
+        return number;
+    }
+}
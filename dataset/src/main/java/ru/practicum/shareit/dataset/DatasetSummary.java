@@ -0,0 +1,21 @@
+package ru.practicum.shareit.dataset;
+
+// Что получилось после заливки: объёмы таблиц и самые «тяжёлые» сущности —
+// на них удобно целиться в тестах и при профилировании худших случаев.
+public record DatasetSummary(
+        int users,
+        int requests,
+        int items,
+        int bookings,
+        int comments,
+        long busiestOwnerId,
+        int busiestOwnerItems,
+        long mostBookedItemId,
+        int mostBookedItemBookings,
+        long longestThreadItemId,
+        int longestThreadComments
+) {
+    public int totalRows() {
+        return users + requests + items + bookings + comments;
+    }
+}
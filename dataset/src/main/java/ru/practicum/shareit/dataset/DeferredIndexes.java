@@ -0,0 +1,77 @@
+package ru.practicum.shareit.dataset;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Приём из «Populating a Database» документации PostgreSQL: на время COPY вторичные индексы,
+// внешние ключи и EXCLUDE-ограничения таблиц набора снимаются и создаются заново после заливки.
+// Индекс, построенный по готовой таблице, дешевле миллионов вставок в него по одной строке,
+// а внешний ключ проверяется одним запросом вместо триггера на каждую строку.
+// Определения берутся из каталога, поэтому восстанавливается ровно то, что создали миграции.
+// Первичные ключи и UNIQUE не трогаются. Всё идёт в транзакции заливки: при ошибке откатывается и DDL.
+final class DeferredIndexes {
+    private static final String TABLES = Arrays.stream(Table.values())
+            .map(Table::tableName)
+            .collect(Collectors.joining("', '"));
+
+    private final List<String> restore = new ArrayList<>();
+
+    private DeferredIndexes() {
+    }
+
+    static DeferredIndexes drop(Connection connection) throws SQLException {
+        DeferredIndexes deferred = new DeferredIndexes();
+        List<String> drop = new ArrayList<>();
+        List<String> recreateIndexes = new ArrayList<>();
+        List<String> recreateConstraints = new ArrayList<>();
+
+        try (Statement st = connection.createStatement()) {
+            try (ResultSet rs = st.executeQuery("""
+                    SELECT conrelid::regclass::text, quote_ident(conname), pg_get_constraintdef(oid)
+                    FROM pg_constraint
+                    WHERE contype IN ('f', 'x') AND conrelid::regclass::text IN ('%s')
+                    ORDER BY contype, conname""".formatted(TABLES))) {
+                while (rs.next()) {
+                    drop.add("ALTER TABLE " + rs.getString(1) + " DROP CONSTRAINT " + rs.getString(2));
+                    recreateConstraints.add("ALTER TABLE " + rs.getString(1) + " ADD CONSTRAINT "
+                            + rs.getString(2) + " " + rs.getString(3));
+                }
+            }
+            try (ResultSet rs = st.executeQuery("""
+                    SELECT i.indexrelid::regclass::text, pg_get_indexdef(i.indexrelid)
+                    FROM pg_index i
+                    WHERE i.indrelid::regclass::text IN ('%s')
+                      AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = i.indexrelid)
+                    ORDER BY 1""".formatted(TABLES))) {
+                while (rs.next()) {
+                    drop.add("DROP INDEX " + rs.getString(1));
+                    recreateIndexes.add(rs.getString(2));
+                }
+            }
+
+            for (String sql : drop) {
+                st.execute(sql);
+            }
+        }
+        // сначала индексы: по ним быстрее проверяются возвращаемые ограничения
+        deferred.restore.addAll(recreateIndexes);
+        deferred.restore.addAll(recreateConstraints);
+        return deferred;
+    }
+
+    void restore(Connection connection) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            // память на сортировку при построении индексов — только для этой транзакции
+            st.execute("SET LOCAL maintenance_work_mem = '256MB'");
+            for (String sql : restore) {
+                st.execute(sql);
+            }
+        }
+    }
+}
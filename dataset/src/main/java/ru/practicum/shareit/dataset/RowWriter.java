@@ -0,0 +1,18 @@
+package ru.practicum.shareit.dataset;
+
+import java.sql.SQLException;
+
+// Приёмник строк одной таблицы. Значения идут в порядке Table.columns();
+// время — LocalDateTime, отсутствующая ссылка — null.
+interface RowWriter extends AutoCloseable {
+
+    void write(Object... values) throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+
+    @FunctionalInterface
+    interface Factory {
+        RowWriter open(Table table) throws SQLException;
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.dataset;
+
+import java.util.List;
+
+// Таблицы схемы shareit-server в порядке внешних ключей и колонки, которые заполняет генератор.
+// Id задаются явно, последовательность каждой таблицы — <таблица>_seq.
+enum Table {
+    USERS("users", List.of("id", "name", "email")),
+    REQUESTS("requests", List.of("id", "description", "requester_id", "created")),
+    ITEMS("items", List.of("id", "name", "description", "owner_id", "available", "request_id")),
+    BOOKINGS("bookings", List.of("id", "start_date", "end_date", "status", "item_id", "booker_id")),
+    COMMENTS("comments", List.of("id", "text", "created", "item_id", "author_id"));
+
+    private final String tableName;
+    private final List<String> columns;
+
+    Table(String tableName, List<String> columns) {
+        this.tableName = tableName;
+        this.columns = columns;
+    }
+
+    String tableName() {
+        return tableName;
+    }
+
+    List<String> columns() {
+        return columns;
+    }
+
+    String sequence() {
+        return tableName + "_seq";
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.dataset;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Распределение Ципфа на рангах 0..n-1: P(k) пропорциональна 1 / (k + 1)^exponent.
+// exponent = 0 — равномерное, 1 — классический «длинный хвост», где первый ранг выпадает в n раз чаще последнего.
+// Выборка — двоичный поиск по накопленным вероятностям.
+final class ZipfSampler {
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Пустое распределение");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
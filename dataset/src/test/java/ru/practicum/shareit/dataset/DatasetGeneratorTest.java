@@ -0,0 +1,196 @@
+package ru.practicum.shareit.dataset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatasetGeneratorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private final DatasetSpec spec = DatasetSpec.parse("users=500", "requests=300", "items=5000",
+            "bookings=40000", "comments=8000", "past-days=365", "future-days=90");
+
+    private Map<Table, List<Object[]>> rows;
+    private DatasetSummary summary;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rows = new EnumMap<>(Table.class);
+        summary = new DatasetGenerator(spec, NOW).generate(collectingWriters(rows));
+    }
+
+    @Test
+    @DisplayName("Число строк в таблицах совпадает с параметрами, id идут с 1 подряд")
+    void generate_shouldProduceRequestedVolumes() {
+        assertThat(rows.get(Table.USERS)).hasSize(500);
+        assertThat(rows.get(Table.REQUESTS)).hasSize(300);
+        assertThat(rows.get(Table.ITEMS)).hasSize(5000);
+        assertThat(rows.get(Table.BOOKINGS)).hasSize(40000);
+        assertThat(rows.get(Table.COMMENTS)).hasSize(8000);
+        for (List<Object[]> table : rows.values()) {
+            for (int i = 0; i < table.size(); i++) {
+                assertThat(table.get(i)[0]).isEqualTo(i + 1);
+            }
+        }
+        assertThat(summary.totalRows()).isEqualTo(53800);
+    }
+
+    @Test
+    @DisplayName("Одинаковые параметры и seed дают одинаковые данные")
+    void generate_shouldBeDeterministic() throws Exception {
+        Map<Table, List<Object[]>> again = generate(spec);
+
+        for (Table table : Table.values()) {
+            assertThat(Arrays.deepEquals(again.get(table).toArray(), rows.get(table).toArray()))
+                    .as(table.tableName())
+                    .isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Ссылки указывают на существующие строки, арендатор не владелец вещи")
+    void generate_shouldKeepForeignKeysValid() {
+        Map<Integer, Integer> itemOwner = new HashMap<>();
+        for (Object[] item : rows.get(Table.ITEMS)) {
+            assertThat((Integer) item[3]).isBetween(1, 500);
+            assertThat((Integer) item[5]).satisfiesAnyOf(
+                    request -> assertThat(request).isNull(),
+                    request -> assertThat(request).isBetween(1, 300));
+            itemOwner.put((Integer) item[0], (Integer) item[3]);
+        }
+        for (Object[] booking : rows.get(Table.BOOKINGS)) {
+            assertThat((Integer) booking[4]).isBetween(1, 5000);
+            assertThat((Integer) booking[5]).isBetween(1, 500).isNotEqualTo(itemOwner.get((Integer) booking[4]));
+        }
+        for (Object[] comment : rows.get(Table.COMMENTS)) {
+            assertThat((Integer) comment[3]).isBetween(1, 5000);
+            assertThat((Integer) comment[4]).isBetween(1, 500);
+            assertThat((LocalDateTime) comment[2]).isBeforeOrEqualTo(NOW);
+        }
+    }
+
+    @Test
+    @DisplayName("Бронирования одной вещи не пересекаются и лежат в окне past-days/future-days")
+    void generate_shouldNotOverlapBookingsOfOneItem() {
+        Map<Integer, List<Object[]>> byItem = new HashMap<>();
+        for (Object[] booking : rows.get(Table.BOOKINGS)) {
+            byItem.computeIfAbsent((Integer) booking[4], id -> new ArrayList<>()).add(booking);
+        }
+
+        for (List<Object[]> bookings : byItem.values()) {
+            bookings.sort(Comparator.comparing(b -> (LocalDateTime) b[1]));
+            for (int i = 0; i < bookings.size(); i++) {
+                LocalDateTime start = (LocalDateTime) bookings.get(i)[1];
+                LocalDateTime end = (LocalDateTime) bookings.get(i)[2];
+                assertThat(start).isBefore(end).isAfterOrEqualTo(NOW.minusDays(365));
+                assertThat(end).isBeforeOrEqualTo(NOW.plusDays(90));
+                if (i > 0) {
+                    assertThat(start).isAfterOrEqualTo((LocalDateTime) bookings.get(i - 1)[2]);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Прошлые бронирования не бывают WAITING, автор комментария брал вещь, если её вообще брали")
+    void generate_shouldKeepStatusesAndCommentAuthorsConsistent() {
+        Map<Integer, Set<Integer>> pastBookers = new HashMap<>();
+        for (Object[] booking : rows.get(Table.BOOKINGS)) {
+            if (((LocalDateTime) booking[2]).isAfter(NOW)) {
+                continue;
+            }
+            assertThat(booking[3]).isIn("APPROVED", "REJECTED", "CANCELED");
+            if (booking[3].equals("APPROVED")) {
+                pastBookers.computeIfAbsent((Integer) booking[4], id -> new HashSet<>()).add((Integer) booking[5]);
+            }
+        }
+
+        for (Object[] comment : rows.get(Table.COMMENTS)) {
+            Set<Integer> bookers = pastBookers.get((Integer) comment[3]);
+            if (bookers != null) {
+                assertThat(bookers).contains((Integer) comment[4]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Перекос: у крупного владельца сотни вещей, популярная вещь собирает бронирования и комментарии")
+    void generate_shouldSkewOwnersAndPopularity() {
+        // поровну было бы 100 вещей на владельца, 8 бронирований и 1–2 комментария на вещь
+        assertThat(summary.busiestOwnerItems()).isGreaterThan(500);
+        assertThat(summary.mostBookedItemBookings()).isGreaterThan(200);
+        assertThat(summary.longestThreadComments()).isGreaterThan(40);
+        assertThat(rows.get(Table.BOOKINGS).stream().filter(b -> b[4].equals((int) summary.mostBookedItemId())))
+                .hasSize(summary.mostBookedItemBookings());
+    }
+
+    @Test
+    @DisplayName("Нулевой перекос — вещи распределены по владельцам почти поровну")
+    void generate_shouldDistributeUniformly_whenSkewIsZero() throws Exception {
+        DatasetSpec uniform = DatasetSpec.parse("users=100", "owners=1", "owner-skew=0", "items=10000",
+                "bookings=0", "comments=0", "requests=0");
+
+        DatasetSummary result = new DatasetGenerator(uniform, NOW)
+                .generate(collectingWriters(new EnumMap<>(Table.class)));
+
+        assertThat(result.busiestOwnerItems()).isLessThan(150);
+    }
+
+    @Test
+    @DisplayName("Слишком много бронирований на одну вещь для окна — понятная ошибка")
+    void generate_shouldFail_whenBookingsDoNotFitWindow() {
+        DatasetSpec crowded = DatasetSpec.parse("users=10", "items=1", "bookings=100000", "past-days=1",
+                "future-days=1");
+
+        assertThatThrownBy(() -> generate(crowded))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("не хватает места");
+    }
+
+    @Test
+    @DisplayName("Неизвестный параметр и доля вне [0, 1] отклоняются")
+    void parse_shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> DatasetSpec.parse("bokings=10"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Неизвестный параметр");
+        assertThatThrownBy(() -> DatasetSpec.parse("unavailable=1.5"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<Table, List<Object[]>> generate(DatasetSpec spec) throws Exception {
+        Map<Table, List<Object[]>> result = new EnumMap<>(Table.class);
+        new DatasetGenerator(spec, NOW).generate(collectingWriters(result));
+        return result;
+    }
+
+    private static RowWriter.Factory collectingWriters(Map<Table, List<Object[]>> result) {
+        return table -> {
+            List<Object[]> tableRows = result.computeIfAbsent(table, t -> new ArrayList<>());
+            return new RowWriter() {
+                @Override
+                public void write(Object... values) {
+                    tableRows.add(values);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        };
+    }
+}
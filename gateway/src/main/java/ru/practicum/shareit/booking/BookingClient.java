@@ -5,13 +5,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -19,11 +20,12 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            ClientHttpRequestFactory serverRequestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> serverRequestFactory)
                         .build()
         );
     }
@@ -42,14 +44,23 @@ public class BookingClient extends BaseClient {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getUserBookings(Long userId, String state) {
-        Map<String, Object> params = Map.of("state", state);
-        return get("?state={state}", userId, params);
+    public ResponseEntity<Object> getUserBookings(Long userId, String state, String cursor, int size) {
+        return getPage("", userId, state, cursor, size);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(Long ownerId, String state) {
-        Map<String, Object> params = Map.of("state", state);
-        return get("/owner?state={state}", ownerId, params);
+    public ResponseEntity<Object> getOwnerBookings(Long ownerId, String state, String cursor, int size) {
+        return getPage("/owner", ownerId, state, cursor, size);
+    }
+
+    private ResponseEntity<Object> getPage(String path, Long userId, String state, String cursor, int size) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("state", state);
+        params.put("size", size);
+        if (cursor == null) {
+            return get(path + "?state={state}&size={size}", userId, params);
+        }
+        params.put("cursor", cursor);
+        return get(path + "?state={state}&size={size}&cursor={cursor}", userId, params);
     }
 
 }
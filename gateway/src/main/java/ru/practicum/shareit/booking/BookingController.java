@@ -4,11 +4,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.metrics.TimedBranch;
 
 
 @Validated
@@ -50,18 +52,22 @@ public class BookingController {
     @GetMapping
     public ResponseEntity<Object> getUserBookings(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @RequestParam(defaultValue = "ALL") String state
+            @RequestParam(defaultValue = "ALL") @TimedBranch String state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") @Positive @Max(1000) int size
     ) {
-        log.info("GATEWAY → GET /bookings?state={} — пользователь ID={} запрашивает свои бронирования", state, userId);
-        return bookingClient.getUserBookings(userId, state);
+        log.info("GATEWAY → GET /bookings?state={}&size={} — пользователь ID={} запрашивает свои бронирования", state, size, userId);
+        return bookingClient.getUserBookings(userId, state, cursor, size);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getOwnerBookings(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
-            @RequestParam(defaultValue = "ALL") String state
+            @RequestParam(defaultValue = "ALL") @TimedBranch String state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") @Positive @Max(1000) int size
     ) {
-        log.info("GATEWAY → GET /bookings/owner?state={} — владелец ID={} запрашивает бронирования своих вещей", state, ownerId);
-        return bookingClient.getOwnerBookings(ownerId, state);
+        log.info("GATEWAY → GET /bookings/owner?state={}&size={} — владелец ID={} запрашивает бронирования своих вещей", state, size, ownerId);
+        return bookingClient.getOwnerBookings(ownerId, state, cursor, size);
     }
 }
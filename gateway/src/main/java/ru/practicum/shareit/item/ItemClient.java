@@ -3,7 +3,7 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
@@ -11,17 +11,21 @@ import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            ClientHttpRequestFactory serverRequestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> serverRequestFactory)
                         .build()
         );
     }
@@ -30,6 +34,10 @@ public class ItemClient extends BaseClient {
         return post("", ownerId, itemCreateDto);
     }
 
+    public ResponseEntity<Object> createItems(Long ownerId, List<ItemCreateDto> itemCreateDtos) {
+        return post("/batch", ownerId, itemCreateDtos);
+    }
+
     public ResponseEntity<Object> updateItem(Long ownerId, Long itemId, ItemUpdateDto itemUpdateDto) {
         return patch("/" + itemId, ownerId, itemUpdateDto);
     }
@@ -42,14 +50,49 @@ public class ItemClient extends BaseClient {
         return get("", ownerId);
     }
 
-    public ResponseEntity<Object> searchItems(String text) {
-        return get("/search?text={text}", null, Map.of("text", text));
+    public ResponseEntity<Object> searchItems(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        StringBuilder path = new StringBuilder("/search?text={text}&from={from}&size={size}");
+        Map<String, Object> params = new HashMap<>();
+        params.put("text", text);
+        params.put("from", from);
+        params.put("size", size);
+        // неполный период проверяет сервер, поэтому передаётся как есть
+        if (start != null) {
+            params.put("start", start);
+            path.append("&start={start}");
+        }
+        if (end != null) {
+            params.put("end", end);
+            path.append("&end={end}");
+        }
+        return get(path.toString(), null, params);
+    }
+
+    public ResponseEntity<Object> getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        StringBuilder path = new StringBuilder("/" + itemId + "/availability");
+        Map<String, Object> params = new HashMap<>();
+        if (from != null) {
+            params.put("from", from);
+            path.append("?from={from}");
+        }
+        if (to != null) {
+            params.put("to", to);
+            path.append(params.size() == 1 ? "?" : "&").append("to={to}");
+        }
+        return get(path.toString(), null, params);
     }
 
     public ResponseEntity<Object> deleteItem(Long ownerId, Long itemId) {
         return delete("/" + itemId, ownerId);
     }
 
+    public ResponseEntity<Object> getComments(Long itemId, String cursor, int size) {
+        if (cursor == null) {
+            return get("/" + itemId + "/comments?size={size}", null, Map.of("size", size));
+        }
+        return get("/" + itemId + "/comments?size={size}&cursor={cursor}", null, Map.of("size", size, "cursor", cursor));
+    }
+
     public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentCreateDto dto) {
         return post("/" + itemId + "/comment", userId, dto);
     }
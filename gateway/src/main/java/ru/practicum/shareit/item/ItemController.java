@@ -2,17 +2,24 @@ package ru.practicum.shareit.item;
 
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
 @Slf4j
 @Validated
@@ -31,6 +38,15 @@ public class ItemController {
         return itemClient.createItem(ownerId, dto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createItems(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestBody @NotEmpty @Size(max = 1000) List<@Valid ItemCreateDto> dtos
+    ) {
+        log.info("POST /items/batch - пользователь {} создаёт вещей: {}", ownerId, dtos.size());
+        return itemClient.createItems(ownerId, dtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
@@ -59,15 +75,31 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text) {
-        log.info("GET /items/search?text={} - поиск вещей", text);
+    public ResponseEntity<Object> searchItems(
+            @RequestParam String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+            @RequestParam(defaultValue = "100") @Positive @Max(1000) int size
+    ) {
+        log.info("GET /items/search?text={}&start={}&end={}&from={}&size={} - поиск вещей", text, start, end, from, size);
 
         if (text == null || text.isBlank()) {
             log.info("Пустой поисковый запрос — возвращаем пустой список");
             return ResponseEntity.ok(Collections.emptyList());
         }
 
-        return itemClient.searchItems(text);
+        return itemClient.searchItems(text, start, end, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getItemAvailability(
+            @PathVariable @Positive Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        log.info("GET /items/{}/availability?from={}&to={} - календарь занятости вещи", itemId, from, to);
+        return itemClient.getItemAvailability(itemId, from, to);
     }
 
     @DeleteMapping("/{itemId}")
@@ -79,6 +111,16 @@ public class ItemController {
         return itemClient.deleteItem(ownerId, itemId);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(
+            @PathVariable @Positive Long itemId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Positive @Max(1000) int size
+    ) {
+        log.info("GET /items/{}/comments?cursor={}&size={} - лента комментариев вещи", itemId, cursor, size);
+        return itemClient.getComments(itemId, cursor, size);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> addComment(
             @PathVariable @Positive Long itemId,
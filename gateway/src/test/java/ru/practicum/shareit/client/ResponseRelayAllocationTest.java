@@ -0,0 +1,135 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Память на один ответ шлюза: прежний путь (ответ сервера читается как Object.class в дерево LinkedHashMap
+// и сериализуется обратно) против передачи байтов в BaseClient. Ответ сервера — страница из 100 бронирований,
+// сеть заменена фабрикой запросов, которая отдаёт готовые байты, поэтому считается только работа шлюза.
+// Замер — ThreadMXBean.getCurrentThreadAllocatedBytes после прогрева, итог пишется в лог на INFO:
+//   mvn -pl gateway test -Dtest=ResponseRelayAllocationTest
+@Slf4j
+class ResponseRelayAllocationTest {
+    private static final int BOOKINGS = 100;
+    private static final int WARMUP = 3_000;
+    private static final int MEASURED = 2_000;
+    private static final String PATH = "/bookings?state={state}&size={size}";
+    private static final Map<String, Object> PARAMETERS = Map.of("state", "ALL", "size", BOOKINGS);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OutputStream client = OutputStream.nullOutputStream();
+    private RestTemplate rest;
+    private BaseClient baseClient;
+
+    private final byte[] page = bookingsPage().getBytes(StandardCharsets.UTF_8);
+
+    @BeforeEach
+    void setUp() {
+        ClientHttpRequestFactory server = (uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            MockClientHttpResponse response = new MockClientHttpResponse(page, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.setResponse(response);
+            return request;
+        };
+        rest = new RestTemplate(server);
+        baseClient = new BaseClient(rest);
+        // DEBUG-лог RestTemplate из application.properties одинаково нагружает оба пути и смазывает разницу
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(RestTemplate.class.getName(), LogLevel.INFO);
+    }
+
+    @AfterEach
+    void restoreLogging() {
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(RestTemplate.class.getName(), null);
+    }
+
+    @Test
+    @DisplayName("Передача байтами выделяет на ответ в разы меньше памяти, чем разбор и повторная сериализация")
+    void passthrough_shouldAllocateFractionOfParsePath() throws IOException {
+        long parsed = allocatedPerResponse(this::parseAndReserialize);
+        long relayed = allocatedPerResponse(this::relayBytes);
+
+        log.info("Страница из {} бронирований ({} КБ): Object.class + сериализация — {} КБ на ответ, byte[] — {} КБ",
+                BOOKINGS, kilobytes(page.length), kilobytes(parsed), kilobytes(relayed));
+        assertThat(relayed).isLessThan(parsed / 4);
+    }
+
+    // как было до перехода на byte[]: Jackson строит дерево ответа, Spring MVC пишет его клиенту заново
+    private void parseAndReserialize() throws IOException {
+        ResponseEntity<Object> response = rest.exchange(PATH, HttpMethod.GET,
+                new HttpEntity<>(headers()), Object.class, PARAMETERS);
+        objectMapper.writeValue(StreamUtils.nonClosing(client), response.getBody());
+    }
+
+    // BaseClient отдаёт байты сервера, ByteArrayHttpMessageConverter пишет их клиенту как есть
+    private void relayBytes() throws IOException {
+        ResponseEntity<Object> response = baseClient.get(PATH, 1L, PARAMETERS);
+        client.write((byte[]) response.getBody());
+    }
+
+    private static HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Sharer-User-Id", "1");
+        return headers;
+    }
+
+    private static long allocatedPerResponse(Call call) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED; i++) {
+            call.run();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED;
+    }
+
+    private static String kilobytes(long bytes) {
+        return "%.1f".formatted(bytes / 1024.0);
+    }
+
+    // та же форма, что BookingDto на сервере: бронирование с вложенными BookerDto и ItemShortDto
+    private static String bookingsPage() {
+        StringJoiner page = new StringJoiner(",", "[", "]");
+        for (int id = 1; id <= BOOKINGS; id++) {
+            page.add("""
+                    {"id":%d,"start":"2030-01-%02dT10:00:00","end":"2030-01-%02dT12:00:00","status":"APPROVED",\
+                    "booker":{"id":%d},"item":{"id":%d,"name":"Drill %d"}}"""
+                    .formatted(id, id % 28 + 1, id % 28 + 1, id, id, id));
+        }
+        return page.toString();
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        void run() throws IOException;
+    }
+}
@@ -12,7 +12,9 @@ import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.util.List;
 
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -44,6 +46,24 @@ class ItemControllerTest {
     }
 
 
+    @Test
+    @DisplayName("POST /items/batch — 400, если хотя бы одна вещь в списке некорректна")
+    void createItems_shouldReturn400_whenOneItemInvalid() throws Exception {
+        List<ItemCreateDto> dtos = List.of(
+                new ItemCreateDto("Дрель", "описание", true, null),
+                new ItemCreateDto("Пила", "", true, null));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dtos)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("ConstraintViolationException"));
+
+        verifyNoInteractions(itemClient);
+    }
+
+
     @Test
     @DisplayName("PATCH /items/{id} — 400 при отрицательном ID")
     void updateItem_shouldReturn400_whenItemIdNegative() throws Exception {
@@ -68,6 +88,27 @@ class ItemControllerTest {
     }
 
 
+    @Test
+    @DisplayName("GET /items/search — 400 при size больше 1000")
+    void searchItems_shouldReturn400_whenSizeTooLarge() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .param("size", "5000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("ConstraintViolationException"));
+    }
+
+
+    @Test
+    @DisplayName("GET /items/{id}/comments — 400 при нулевом размере страницы")
+    void getComments_shouldReturn400_whenSizeZero() throws Exception {
+        mockMvc.perform(get("/items/{id}/comments", 1)
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("ConstraintViolationException"));
+    }
+
+
     @Test
     @DisplayName("POST /items/{id}/comment — 400 при пустом тексте")
     void addComment_shouldReturn400_whenTextBlank() throws Exception {
@@ -0,0 +1,172 @@
+package ru.practicum.shareit.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Нагрузочный тест шлюза: 5000 одновременных запросов к медленному серверу (2 с на ответ).
+// На платформенных потоках шлюз держит не больше server.tomcat.threads.max = 200 запросов к серверу,
+// на виртуальных потоках ограничением остаётся только пул соединений.
+// Запуск: mvn -pl gateway test -Pload-test
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "shareit-server.http.max-total=6000",
+        "shareit-server.http.max-per-route=6000",
+        "logging.level.root=WARN",
+        "logging.level.ru.practicum.shareit.load=INFO",
+        "logging.level.org.springframework.web.client.RestTemplate=WARN"
+})
+class GatewayVirtualThreadsLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 5000;
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int TOMCAT_PLATFORM_THREADS = 200;
+    private static final Duration SERVER_LATENCY = Duration.ofSeconds(2);
+
+    private static Process slowServer;
+    private static int slowServerPort;
+
+    @LocalServerPort
+    private int port;
+
+    // Медленный сервер живёт в отдельном процессе: иначе сокеты клиента, шлюза и сервера
+    // (4 дескриптора на запрос) упираются в лимит открытых файлов одного процесса.
+    @BeforeAll
+    static void startSlowServer() throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        slowServer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                SlowServer.class.getName(), String.valueOf(SERVER_LATENCY.toMillis()))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        BufferedReader out = new BufferedReader(new InputStreamReader(slowServer.getInputStream(), StandardCharsets.UTF_8));
+        slowServerPort = Integer.parseInt(out.readLine());
+    }
+
+    @AfterAll
+    static void stopSlowServer() {
+        slowServer.destroy();
+    }
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + slowServerPort);
+    }
+
+    @Test
+    @DisplayName("5000 одновременных медленных запросов ждут сервер параллельно, без лимита потоков Tomcat")
+    void gateway_shouldServeConcurrentSlowRequests() throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clients)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/1"))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+
+            // прогрев JIT и пула соединений
+            sendConcurrently(httpClient, request, WARMUP_REQUESTS);
+            resetPeak(httpClient);
+
+            long started = System.nanoTime();
+            long ok = sendConcurrently(httpClient, request, CONCURRENT_REQUESTS);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+            int peakInFlight = resetPeak(httpClient);
+
+            log.info("Нагрузка на шлюз: {} запросов, {} успешных, {} мс, {} запросов/с, пик одновременных на сервере: {}",
+                    CONCURRENT_REQUESTS, ok, elapsed.toMillis(), CONCURRENT_REQUESTS * 1000 / elapsed.toMillis(),
+                    peakInFlight);
+
+            assertThat(ok).isEqualTo(CONCURRENT_REQUESTS);
+            assertThat(peakInFlight).isGreaterThan(TOMCAT_PLATFORM_THREADS);
+        }
+    }
+
+    private static long sendConcurrently(HttpClient httpClient, HttpRequest request, int count) {
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(HttpResponse::statusCode));
+        }
+        return responses.stream().map(CompletableFuture::join).filter(status -> status == 200).count();
+    }
+
+    private static int resetPeak(HttpClient httpClient) throws Exception {
+        HttpRequest stats = HttpRequest.newBuilder(URI.create("http://localhost:" + slowServerPort + "/stats")).build();
+        return Integer.parseInt(httpClient.send(stats, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    // Заглушка shareit-server: отвечает на /users/{id} с задержкой и считает пиковое число одновременных запросов.
+    static class SlowServer {
+
+        private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+        private static final AtomicInteger PEAK = new AtomicInteger();
+
+        public static void main(String[] args) throws IOException {
+            long latencyMillis = Long.parseLong(args[0]);
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS * 2);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/users", exchange -> {
+                PEAK.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    IN_FLIGHT.decrementAndGet();
+                }
+                respond(exchange, "{\"id\":1,\"name\":\"Ivan\",\"email\":\"ivan@mail.ru\"}");
+            });
+            server.createContext("/stats", exchange -> respond(exchange, String.valueOf(PEAK.getAndSet(0))));
+            server.start();
+            // порт читает родительский процесс из stdout, см. startSlowServer
+            System.out.println(server.getAddress().getPort());
+            System.out.flush();
+        }
+
+        // com.sun.net.httpserver держит не больше 200 простаивающих соединений и закрывает лишние
+        // без ответа, поэтому соединение закрывается явно, чтобы шлюз не взял из пула закрытый сокет
+        private static void respond(HttpExchange exchange, String json) throws IOException {
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Connection", "close");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookingController.class)
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({OperationTimingAspect.class, LatencyEndpoint.class, LatencyEndpointTest.MetricsConfig.class})
+class LatencyEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LatencyEndpoint latencyEndpoint;
+
+    @MockBean
+    private BookingClient bookingClient;
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    @DisplayName("GET /bookings/owner — замер контроллера с веткой по state")
+    void getOwnerBookings_shouldBeTimedPerState() throws Exception {
+        when(bookingClient.getOwnerBookings(anyLong(), anyString(), any(), anyInt()))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/bookings/owner").param("state", "future").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk());
+
+        assertThat(latencyEndpoint.operation("BookingController.getOwnerBookings"))
+                .extracting(OperationLatency::layer, OperationLatency::branch, OperationLatency::count)
+                .containsExactlyInAnyOrder(
+                        tuple("controller", "FUTURE", 1L),
+                        tuple("controller", "ALL", 1L));
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+// GET /actuator/latency — задержки всех операций, самые медленные по p99 сверху.
+// GET /actuator/latency/{operation} — одна операция по всем веткам, например BookingServiceImpl.getOwnerBookings
+// в shareit-server или BookingClient.getOwnerBookings в шлюзе.
+// Те же таймеры доступны в /actuator/metrics/shareit.operation и в любом подключённом реестре Micrometer.
+@Component
+@Endpoint(id = "latency")
+@RequiredArgsConstructor
+public class LatencyEndpoint {
+    private final MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public List<OperationLatency> latencies() {
+        return report(meterRegistry.find(OperationTimingAspect.METER));
+    }
+
+    @ReadOperation
+    public List<OperationLatency> operation(@Selector String operation) {
+        return report(meterRegistry.find(OperationTimingAspect.METER).tag("operation", operation));
+    }
+
+    private static List<OperationLatency> report(Search search) {
+        return search.timers().stream()
+                .map(OperationLatency::of)
+                .sorted(Comparator.comparingDouble(OperationLatency::p99Ms).reversed())
+                .toList();
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.concurrent.TimeUnit;
+
+// Строка отчёта /actuator/latency. count и mean — за всё время работы,
+// перцентили и max — за скользящее окно shareit.latency.window, в миллисекундах.
+public record OperationLatency(
+        String layer,
+        String operation,
+        String branch,
+        String exception,
+        long count,
+        double meanMs,
+        double p50Ms,
+        double p90Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs
+) {
+    // перцентили в снимке идут в порядке OperationTimingAspect.PERCENTILES
+    static OperationLatency of(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        ValueAtPercentile[] percentiles = snapshot.percentileValues();
+        return new OperationLatency(timer.getId().getTag("layer"), timer.getId().getTag("operation"),
+                timer.getId().getTag("branch"), timer.getId().getTag("exception"), snapshot.count(),
+                snapshot.mean(TimeUnit.MILLISECONDS), millis(percentiles, 0), millis(percentiles, 1),
+                millis(percentiles, 2), millis(percentiles, 3), snapshot.max(TimeUnit.MILLISECONDS));
+    }
+
+    private static double millis(ValueAtPercentile[] percentiles, int index) {
+        return index < percentiles.length ? percentiles[index].value(TimeUnit.MILLISECONDS) : 0;
+    }
+}
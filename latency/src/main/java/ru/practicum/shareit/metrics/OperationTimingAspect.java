@@ -0,0 +1,145 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Время каждого публичного метода контроллеров и компонентов @Service пишется в таймер shareit.operation с тегами
+// layer (controller или shareit.latency.layer), operation (Класс.метод), branch (значение параметра с @TimedBranch,
+// иначе "-") и exception (простое имя исключения или none). В shareit-server @Service — сервисы (layer=service),
+// в шлюзе — клиенты shareit-server (layer=client): их время — полный запрос к серверу, а разница с контроллером —
+// валидация и сериализация в самом шлюзе.
+// Перцентили считает сам таймер в скользящем окне shareit.latency.window на HdrHistogram: запись без блокировок,
+// таймеры создаются один раз на сочетание тегов и дальше берутся из кэша.
+// Значения branch приходят из запроса, поэтому на операцию заводится не больше MAX_BRANCHES веток,
+// остальные попадают в OTHER. Аспект снаружи @Transactional: время сервиса включает открытие и коммит транзакции.
+// Порядок сразу за ExposeInvocationInterceptor (HIGHEST_PRECEDENCE + 1): pointcut с @within проверяется
+// на каждом вызове через текущий MethodInvocation, и если аспект встанет раньше интерцептора,
+// каждая проверка будет создавать и глотать IllegalStateException — это +7 мкс на вызов.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class OperationTimingAspect {
+    public static final String METER = "shareit.operation";
+    static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+    static final int MAX_BRANCHES = 16;
+    static final String OTHER_BRANCH = "OTHER";
+    private static final String NO_BRANCH = "-";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final String serviceLayer;
+    private final Duration window;
+    private final Map<Method, Operation> operations = new ConcurrentHashMap<>();
+
+    public OperationTimingAspect(MeterRegistry meterRegistry,
+                                 @Value("${shareit.latency.layer:service}") String serviceLayer,
+                                 @Value("${shareit.latency.window:2m}") Duration window) {
+        this.meterRegistry = meterRegistry;
+        this.serviceLayer = serviceLayer;
+        this.window = window;
+    }
+
+    @Around("execution(public * ru.practicum.shareit..*(..)) && "
+            + "(@within(org.springframework.web.bind.annotation.RestController) "
+            + "|| @within(org.springframework.stereotype.Service))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Operation operation = operation(joinPoint);
+        String branch = operation.branch(joinPoint.getArgs());
+        String exception = NO_EXCEPTION;
+        long started = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            operation.timer(branch, exception).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Operation operation(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Operation operation = operations.get(method);
+        if (operation == null) {
+            Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+            operation = operations.computeIfAbsent(method,
+                    m -> new Operation(AopUtils.getMostSpecificMethod(m, targetClass), targetClass));
+        }
+        return operation;
+    }
+
+    private final class Operation {
+        private final String layer;
+        private final String name;
+        private final int branchParameter;
+        private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+        private Operation(Method method, Class<?> targetClass) {
+            this.layer = AnnotatedElementUtils.hasAnnotation(targetClass, RestController.class)
+                    ? "controller" : serviceLayer;
+            this.name = targetClass.getSimpleName() + "." + method.getName();
+            this.branchParameter = branchParameter(method);
+        }
+
+        String branch(Object[] args) {
+            if (branchParameter < 0) {
+                return NO_BRANCH;
+            }
+            Object value = args[branchParameter];
+            String branch = value == null ? NO_BRANCH : value.toString().toUpperCase(Locale.ROOT);
+            if (timers.containsKey(branch)) {
+                return branch;
+            }
+            // гонка при заведении веток может дать на пару веток больше предела — это не страшно
+            return timers.size() < MAX_BRANCHES ? branch : OTHER_BRANCH;
+        }
+
+        Timer timer(String branch, String exception) {
+            Map<String, Timer> byException = timers.get(branch);
+            if (byException == null) {
+                byException = timers.computeIfAbsent(branch, b -> new ConcurrentHashMap<>());
+            }
+            Timer timer = byException.get(exception);
+            return timer != null ? timer : byException.computeIfAbsent(exception, e -> Timer.builder(METER)
+                    .description("Время выполнения методов контроллеров и компонентов @Service")
+                    .tag("layer", layer)
+                    .tag("operation", name)
+                    .tag("branch", branch)
+                    .tag("exception", e)
+                    .publishPercentiles(PERCENTILES)
+                    .distributionStatisticExpiry(window)
+                    .register(meterRegistry));
+        }
+
+        private static int branchParameter(Method method) {
+            Annotation[][] annotations = method.getParameterAnnotations();
+            for (int i = 0; i < annotations.length; i++) {
+                for (Annotation annotation : annotations[i]) {
+                    if (annotation instanceof TimedBranch) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Параметр, значение которого разводит замеры метода по веткам (тег branch таймера shareit.operation),
+// например state в выборках бронирований: CURRENT и ALL идут разными запросами и сравнивать их нужно отдельно.
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TimedBranch {
+}
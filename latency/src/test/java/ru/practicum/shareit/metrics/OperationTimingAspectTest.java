@@ -0,0 +1,72 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OperationTimingAspectTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OperationTimingAspect aspect = new OperationTimingAspect(meterRegistry, "client", Duration.ofMinutes(2));
+    private final LatencyEndpoint latencyEndpoint = new LatencyEndpoint(meterRegistry);
+
+    @Test
+    @DisplayName("@Service получает layer из shareit.latency.layer, контроллер — controller")
+    void layer_shouldComeFromSettingForServices() {
+        proxy(new SampleClient()).find("future");
+        proxy(new SampleController()).list();
+
+        assertThat(latencyEndpoint.latencies())
+                .extracting(OperationLatency::layer, OperationLatency::operation, OperationLatency::branch)
+                .containsExactlyInAnyOrder(
+                        tuple("client", "SampleClient.find", "FUTURE"),
+                        tuple("controller", "SampleController.list", "-"));
+    }
+
+    @Test
+    @DisplayName("Исключение попадает в тег exception, лишние ветки уходят в OTHER")
+    void exceptionsAndBranches_shouldBeTagged() {
+        SampleClient client = proxy(new SampleClient());
+        assertThrows(IllegalArgumentException.class, () -> client.find(null));
+        for (int i = 0; i < 3 * OperationTimingAspect.MAX_BRANCHES; i++) {
+            client.find("junk-" + i);
+        }
+
+        List<OperationLatency> rows = latencyEndpoint.operation("SampleClient.find");
+        assertThat(rows).anySatisfy(row -> assertThat(row.exception()).isEqualTo("IllegalArgumentException"));
+        assertThat(rows).extracting(OperationLatency::branch).contains(OperationTimingAspect.OTHER_BRANCH)
+                .doesNotHaveDuplicates()
+                .hasSizeLessThanOrEqualTo(OperationTimingAspect.MAX_BRANCHES + 1);
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @Service
+    static class SampleClient {
+        public String find(@TimedBranch String state) {
+            if (state == null) {
+                throw new IllegalArgumentException("state");
+            }
+            return state;
+        }
+    }
+
+    @RestController
+    static class SampleController {
+        public void list() {
+        }
+    }
+}
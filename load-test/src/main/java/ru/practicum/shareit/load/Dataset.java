@@ -0,0 +1,44 @@
+package ru.practicum.shareit.load;
+
+import ru.practicum.shareit.dataset.DatasetLoader;
+import ru.practicum.shareit.dataset.DatasetSpec;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.random.RandomGenerator;
+
+// Набор данных прогона: генератор модуля dataset заливает его через COPY сразу после миграций сервера.
+// Через API столько строк создавались бы дольше самого прогона, а прошлые бронирования
+// и комментарии к ним через API не создать вовсе.
+public final class Dataset {
+    static final String[] SEARCH_WORDS = {"дрель", "перфоратор", "лестница", "палатка", "велосипед",
+        "шуруповёрт", "пила", "спальник", "проектор", "самокат", "в хорошем состоянии", "item 4242"};
+
+    private final int users;
+    private final int items;
+
+    private Dataset(int users, int items) {
+        this.users = users;
+        this.items = items;
+    }
+
+    public static Dataset seed(String jdbcUrl, String user, String password, LoadTestConfig config)
+            throws SQLException {
+        DatasetSpec spec = DatasetSpec.parse("users=" + config.getUsers(), "items=" + config.getItems(),
+                "bookings=" + config.getBookings(), "comments=" + config.getComments(),
+                "requests=" + config.getRequests());
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, user, password)) {
+            DatasetLoader.load(connection, spec);
+        }
+        return new Dataset(config.getUsers(), config.getItems());
+    }
+
+    public long randomUserId(RandomGenerator random) {
+        return 1 + random.nextInt(users);
+    }
+
+    public long randomItemId(RandomGenerator random) {
+        return 1 + random.nextInt(items);
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.load;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Эндпоинты шлюза, которые воспроизводит прогон. Пользователь и вещь выбираются случайно
+// из набора данных, поэтому запросы не попадают всё время в одни и те же кэши.
+public enum Endpoint {
+    BOOKINGS("bookings") {
+        @Override
+        String path(RandomGenerator random, Dataset dataset) {
+            return "/bookings?state=" + randomState(random) + "&size=" + PAGE_SIZE;
+        }
+    },
+    OWNER_BOOKINGS("owner-bookings") {
+        @Override
+        String path(RandomGenerator random, Dataset dataset) {
+            return "/bookings/owner?state=" + randomState(random) + "&size=" + PAGE_SIZE;
+        }
+    },
+    SEARCH("search") {
+        @Override
+        String path(RandomGenerator random, Dataset dataset) {
+            String text = Dataset.SEARCH_WORDS[random.nextInt(Dataset.SEARCH_WORDS.length)];
+            return "/items/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8) + "&size=" + PAGE_SIZE;
+        }
+    },
+    ITEM_CARD("item-card") {
+        @Override
+        String path(RandomGenerator random, Dataset dataset) {
+            return "/items/" + dataset.randomItemId(random);
+        }
+    },
+    REQUESTS("requests") {
+        @Override
+        String path(RandomGenerator random, Dataset dataset) {
+            return "/requests/all?from=0&size=" + PAGE_SIZE;
+        }
+    };
+
+    private static final int PAGE_SIZE = 20;
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    // путь с параметрами относительно адреса шлюза
+    abstract String path(RandomGenerator random, Dataset dataset);
+
+    public static Endpoint byKey(String key) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестный эндпоинт: " + key + ", допустимые: "
+                        + Arrays.stream(values()).map(Endpoint::key).toList()));
+    }
+
+    private static String randomState(RandomGenerator random) {
+        return STATES[random.nextInt(STATES.length)];
+    }
+}
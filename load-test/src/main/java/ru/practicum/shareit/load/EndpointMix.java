@@ -0,0 +1,68 @@
+package ru.practicum.shareit.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+// Доли эндпоинтов в нагрузке: "bookings:20,search:30" — веса, а не обязательно проценты.
+public final class EndpointMix {
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private EndpointMix(Map<Endpoint, Integer> weights) {
+        endpoints = weights.keySet().toArray(new Endpoint[0]);
+        cumulativeWeights = new int[endpoints.length];
+        int sum = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            sum += weights.get(endpoints[i]);
+            cumulativeWeights[i] = sum;
+        }
+        totalWeight = sum;
+    }
+
+    public static EndpointMix parse(String value) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : value.split(",")) {
+            String[] keyAndWeight = part.trim().split(":");
+            if (keyAndWeight.length != 2) {
+                throw new IllegalArgumentException("Ожидается endpoint:вес, получено: " + part);
+            }
+            int weight = Integer.parseInt(keyAndWeight[1]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Вес не может быть отрицательным: " + part);
+            }
+            if (weight > 0) {
+                weights.merge(Endpoint.byKey(keyAndWeight[0]), weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("В смеси нет ни одного эндпоинта: " + value);
+        }
+        return new EndpointMix(weights);
+    }
+
+    public Endpoint pick(RandomGenerator random) {
+        int point = random.nextInt(totalWeight);
+        for (int i = 0; i < endpoints.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("point=" + point);
+    }
+
+    public Endpoint[] endpoints() {
+        return endpoints.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < endpoints.length; i++) {
+            int weight = cumulativeWeights[i] - (i > 0 ? cumulativeWeights[i - 1] : 0);
+            sb.append(i > 0 ? "," : "").append(endpoints[i].key()).append(':').append(weight);
+        }
+        return sb.toString();
+    }
+}
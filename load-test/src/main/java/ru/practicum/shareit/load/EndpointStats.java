@@ -0,0 +1,39 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Задержки одного эндпоинта в наносекундах (3 значащие цифры) и ошибки по видам: "HTTP 500", имя исключения.
+// Запросы с ошибкой тоже попадают в гистограмму: медленный отказ — тоже задержка для клиента.
+public final class EndpointStats {
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void recordSuccess(long latencyNanos) {
+        latencies.recordValue(latencyNanos);
+    }
+
+    void recordError(long latencyNanos, String kind) {
+        latencies.recordValue(latencyNanos);
+        errors.computeIfAbsent(kind, k -> new LongAdder()).increment();
+    }
+
+    public Histogram latencies() {
+        return latencies;
+    }
+
+    public long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public Map<String, Long> errorsByKind() {
+        Map<String, Long> result = new TreeMap<>();
+        errors.forEach((kind, count) -> result.put(kind, count.sum()));
+        return result;
+    }
+}
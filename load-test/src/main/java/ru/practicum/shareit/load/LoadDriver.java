@@ -0,0 +1,110 @@
+package ru.practicum.shareit.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+// Клиенты на виртуальных потоках шлют запросы в шлюз по смеси эндпоинтов.
+// rate = 0: закрытый цикл, следующий запрос сразу после ответа.
+// rate > 0: у каждого клиента расписание с шагом concurrency / rate, задержка считается
+// от запланированного момента отправки, а не от фактического: если система тормозит
+// и расписание отстаёт, ожидание в очереди тоже попадает в перцентили (coordinated omission).
+public final class LoadDriver {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final URI gateway;
+    private final Dataset dataset;
+    private final EndpointMix mix;
+    private final int concurrency;
+    private final int rate;
+
+    public LoadDriver(URI gateway, Dataset dataset, LoadTestConfig config) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.gateway = gateway;
+        this.dataset = dataset;
+        this.mix = config.getMix();
+        this.concurrency = config.getConcurrency();
+        this.rate = config.getRate();
+    }
+
+    public Map<Endpoint, EndpointStats> run(Duration duration) throws Exception {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : mix.endpoints()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        SplittableRandom seeds = new SplittableRandom(42);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                SplittableRandom random = seeds.split();
+                // клиенты стартуют вразнобой внутри первого интервала, чтобы не бить залпом
+                long offset = rate > 0 ? random.nextLong(intervalNanos()) : 0;
+                workers.add(clients.submit(() -> client(random, started + offset, deadline, stats)));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return stats;
+    }
+
+    private void client(SplittableRandom random, long firstStart, long deadline, Map<Endpoint, EndpointStats> stats) {
+        long intended = firstStart;
+        while (true) {
+            long now = System.nanoTime();
+            if (rate > 0 && intended > now) {
+                LockSupport.parkNanos(intended - now);
+            }
+            long sent = rate > 0 ? intended : System.nanoTime();
+            if (sent >= deadline) {
+                return;
+            }
+
+            Endpoint endpoint = mix.pick(random);
+            HttpRequest request = HttpRequest.newBuilder(gateway.resolve(endpoint.path(random, dataset)))
+                    .header("X-Sharer-User-Id", String.valueOf(dataset.randomUserId(random)))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+            EndpointStats endpointStats = stats.get(endpoint);
+            try {
+                int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                long latency = System.nanoTime() - sent;
+                if (status < 400) {
+                    endpointStats.recordSuccess(latency);
+                } else {
+                    endpointStats.recordError(latency, "HTTP " + status);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                endpointStats.recordError(System.nanoTime() - sent, e.getClass().getSimpleName());
+            }
+            intended += intervalNanos();
+        }
+    }
+
+    private long intervalNanos() {
+        return rate > 0 ? 1_000_000_000L * concurrency / rate : 0;
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+// Прогон: база и оба приложения → набор данных → прогрев → замер → отчёт по эндпоинтам.
+// Перцентили пишутся в консоль, полные распределения — в <out>/<endpoint>.hgrm
+// (можно построить график в HdrHistogram Plotter).
+public final class LoadTestApp {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private LoadTestApp() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        try (ShareItStack stack = ShareItStack.start(config)) {
+            System.out.printf("Заливка данных: %d пользователей, %d вещей, %d бронирований, %d комментариев, %d запросов%n",
+                    config.getUsers(), config.getItems(), config.getBookings(), config.getComments(), config.getRequests());
+            long seedStarted = System.nanoTime();
+            Dataset dataset = Dataset.seed(stack.jdbcUrl(), config.getDbUser(), config.getDbPassword(), config);
+            System.out.printf("Данные залиты за %d с%n", Duration.ofNanos(System.nanoTime() - seedStarted).toSeconds());
+
+            LoadDriver driver = new LoadDriver(stack.gatewayUri(), dataset, config);
+            System.out.printf("Прогрев %s, клиентов: %d, темп: %s, смесь: %s%n", config.getWarmup(),
+                    config.getConcurrency(), config.getRate() > 0 ? config.getRate() + " запр/с" : "без ограничения",
+                    config.getMix());
+            driver.run(config.getWarmup());
+
+            System.out.printf("Замер %s%n", config.getDuration());
+            Map<Endpoint, EndpointStats> stats = driver.run(config.getDuration());
+            report(stats, config.getDuration(), System.out);
+            writeDistributions(stats, config.getOut());
+        }
+    }
+
+    static void report(Map<Endpoint, EndpointStats> stats, Duration duration, PrintStream out) {
+        double seconds = duration.toMillis() / 1000.0;
+        out.printf("%n%-16s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Histogram latencies = entry.getValue().latencies();
+            long errors = entry.getValue().errorCount();
+            printRow(out, entry.getKey().key(), latencies, errors, seconds);
+            total.add(latencies);
+            totalErrors += errors;
+        }
+        printRow(out, "total", total, totalErrors, seconds);
+
+        stats.forEach((endpoint, endpointStats) -> endpointStats.errorsByKind().forEach((kind, count) ->
+                out.printf("  %s: %s × %d%n", endpoint.key(), kind, count)));
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram h, long errors, double seconds) {
+        out.printf("%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, h.getTotalCount(), errors,
+                h.getTotalCount() / seconds, millis(h, 50), millis(h, 90), millis(h, 99), millis(h, 99.9),
+                h.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    private static double millis(Histogram h, double percentile) {
+        return h.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    private static void writeDistributions(Map<Endpoint, EndpointStats> stats, Path dir) throws Exception {
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Path file = dir.resolve(entry.getKey().key() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8)) {
+                entry.getValue().latencies().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+        System.out.printf("Распределения задержек (мс): %s/*.hgrm%n", dir);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Параметры прогона в виде key=value, пути — относительно корня проекта:
+//   server-jar, gateway-jar    исполняемые jar сервера и шлюза (после mvn package)
+//   db-url, db-user, db-password  внешний PostgreSQL; без db-url поднимается встроенный
+//   users, items, bookings, comments, requests  размер набора данных
+//   concurrency                число одновременных клиентов
+//   rate                       общий темп, запросов/с; 0 — закрытый цикл без пауз
+//   warmup, duration           прогрев и замер, например 15s, 2m
+//   mix                        доли эндпоинтов, например bookings:25,search:25
+//   app-log-level              уровень логов сервера и шлюза
+//   out                        каталог для логов процессов и .hgrm-файлов
+@Getter
+public final class LoadTestConfig {
+    private static final Set<String> KEYS = Set.of("server-jar", "gateway-jar", "db-url", "db-user", "db-password",
+            "users", "items", "bookings", "comments", "requests", "concurrency", "rate", "warmup", "duration",
+            "mix", "app-log-level", "out");
+
+    private Path serverJar = Path.of("server/target/server-0.0.1-SNAPSHOT-exec.jar");
+    private Path gatewayJar = Path.of("gateway/target/gateway-0.0.1-SNAPSHOT.jar");
+    private String dbUrl;
+    private String dbUser = "postgres";
+    private String dbPassword = "postgres";
+
+    private int users = 2_000;
+    private int items = 50_000;
+    private int bookings = 300_000;
+    private int comments = 100_000;
+    private int requests = 20_000;
+
+    private int concurrency = 64;
+    private int rate = 0;
+    private Duration warmup = Duration.ofSeconds(15);
+    private Duration duration = Duration.ofSeconds(60);
+    private EndpointMix mix = EndpointMix.parse("bookings:20,owner-bookings:15,search:25,item-card:30,requests:10");
+    private String appLogLevel = "WARN";
+    private Path out = Path.of("load-test/target/load-test");
+
+    private LoadTestConfig() {
+    }
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = eq > 0 ? arg.substring(0, eq).replaceFirst("^--", "") : arg;
+            if (eq < 0 || !KEYS.contains(key)) {
+                throw new IllegalArgumentException("Неизвестный параметр: " + arg + ", допустимые: " + KEYS);
+            }
+            values.put(key, arg.substring(eq + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig();
+        values.forEach((key, value) -> {
+            switch (key) {
+                case "server-jar" -> config.serverJar = Path.of(value);
+                case "gateway-jar" -> config.gatewayJar = Path.of(value);
+                case "db-url" -> config.dbUrl = value;
+                case "db-user" -> config.dbUser = value;
+                case "db-password" -> config.dbPassword = value;
+                case "users" -> config.users = positive(key, value);
+                case "items" -> config.items = positive(key, value);
+                case "bookings" -> config.bookings = positive(key, value);
+                case "comments" -> config.comments = positive(key, value);
+                case "requests" -> config.requests = positive(key, value);
+                case "concurrency" -> config.concurrency = positive(key, value);
+                case "rate" -> config.rate = Integer.parseInt(value);
+                case "warmup" -> config.warmup = duration(value);
+                case "duration" -> config.duration = duration(value);
+                case "mix" -> config.mix = EndpointMix.parse(value);
+                case "app-log-level" -> config.appLogLevel = value;
+                case "out" -> config.out = Path.of(value);
+                default -> throw new IllegalStateException(key);
+            }
+        });
+        return config;
+    }
+
+    public boolean isEmbeddedDb() {
+        return dbUrl == null || dbUrl.isBlank();
+    }
+
+    private static int positive(String key, String value) {
+        int number = Integer.parseInt(value);
+        if (number < 1) {
+            throw new IllegalArgumentException(key + " должен быть больше нуля: " + value);
+        }
+        return number;
+    }
+
+    // 90s, 2m, 1m30s
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+}
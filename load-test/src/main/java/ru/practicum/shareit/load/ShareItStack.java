@@ -0,0 +1,155 @@
+package ru.practicum.shareit.load;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// База, shareit-server и shareit-gateway для прогона. Сервер и шлюз — отдельные JVM из своих
+// исполняемых jar, как в проде: в одном процессе их не запустить, классы модулей пересекаются по именам.
+public final class ShareItStack implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final LoadTestConfig config;
+    private EmbeddedPostgres embeddedPostgres;
+    private Process server;
+    private Process gateway;
+    private String jdbcUrl;
+    private URI gatewayUri;
+
+    private ShareItStack(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static ShareItStack start(LoadTestConfig config) throws Exception {
+        ShareItStack stack = new ShareItStack(config);
+        try {
+            stack.startAll();
+            return stack;
+        } catch (Exception e) {
+            stack.close();
+            throw e;
+        }
+    }
+
+    public String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    public URI gatewayUri() {
+        return gatewayUri;
+    }
+
+    private void startAll() throws Exception {
+        requireFile(config.getServerJar());
+        requireFile(config.getGatewayJar());
+        Files.createDirectories(config.getOut());
+
+        if (config.isEmbeddedDb()) {
+            embeddedPostgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = "jdbc:postgresql://localhost:" + embeddedPostgres.getPort() + "/postgres";
+        } else {
+            jdbcUrl = config.getDbUrl();
+        }
+
+        int serverPort = freePort();
+        server = launch("server", config.getServerJar(), List.of(
+                "--server.port=" + serverPort,
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + config.getDbUser(),
+                "--spring.datasource.password=" + config.getDbPassword(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.springframework.transaction=" + config.getAppLogLevel(),
+                "--logging.level.org.springframework.transaction.interceptor=" + config.getAppLogLevel(),
+                "--logging.level.org.springframework.orm.jpa=" + config.getAppLogLevel(),
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=" + config.getAppLogLevel()));
+        awaitHealthy("server", server, URI.create("http://localhost:" + serverPort));
+
+        int gatewayPort = freePort();
+        gateway = launch("gateway", config.getGatewayJar(), List.of(
+                "--server.port=" + gatewayPort,
+                "--shareit-server.url=http://localhost:" + serverPort,
+                "--logging.level.org.springframework.web.client.RestTemplate=" + config.getAppLogLevel()));
+        gatewayUri = URI.create("http://localhost:" + gatewayPort);
+        awaitHealthy("gateway", gateway, gatewayUri);
+    }
+
+    private Process launch(String name, Path jar, List<String> appArgs) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--spring.main.banner-mode=off");
+        command.add("--logging.level.root=" + config.getAppLogLevel());
+        command.add("--logging.level.ru.practicum=" + config.getAppLogLevel());
+        command.addAll(appArgs);
+
+        Path log = config.getOut().resolve(name + ".log");
+        System.out.printf("Запуск %s, лог: %s%n", name, log);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private void awaitHealthy(String name, Process process, URI base) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest health = HttpRequest.newBuilder(base.resolve("/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " завершился с кодом " + process.exitValue()
+                        + ", см. " + config.getOut().resolve(name + ".log"));
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // ещё не слушает порт
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " не поднялся за " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() throws Exception {
+        stop(gateway);
+        stop(server);
+        if (embeddedPostgres != null) {
+            embeddedPostgres.close();
+        }
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        if (process != null && process.isAlive()) {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static void requireFile(Path jar) {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("Не найден " + jar.toAbsolutePath()
+                    + ": соберите проект (mvn package -DskipTests) и запускайте из его корня");
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -3,11 +3,14 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.metrics.TimedBranch;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.util.List;
 
@@ -17,6 +20,9 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String DEFAULT_PAGE_SIZE = "100";
+
     private final BookingService bookingService;
 
 
@@ -50,20 +56,35 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getUserBookings(
+    public ResponseEntity<List<BookingDto>> getUserBookings(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @RequestParam(defaultValue = "ALL") String state) {
-        log.info("GET /bookings?state={} - пользователь ID={} запрашивает список своих бронирований", state, userId);
-        return bookingService.getUserBookings(userId, state);
+            @RequestParam(defaultValue = "ALL") @TimedBranch String state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        log.info("GET /bookings?state={}&cursor={}&size={} - пользователь ID={} запрашивает список своих бронирований",
+                state, cursor, size, userId);
+        return withNextCursor(bookingService.getUserBookings(userId, state, cursor, size), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getOwnerBookings(
+    public ResponseEntity<List<BookingDto>> getOwnerBookings(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
-            @RequestParam(defaultValue = "ALL") String state) {
-        log.info("GET /bookings/owner?state={} - владелец ID={} запрашивает бронирования своих вещей", state, ownerId);
-        return bookingService.getOwnerBookings(ownerId, state);
+            @RequestParam(defaultValue = "ALL") @TimedBranch String state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        log.info("GET /bookings/owner?state={}&cursor={}&size={} - владелец ID={} запрашивает бронирования своих вещей",
+                state, cursor, size, ownerId);
+        return withNextCursor(bookingService.getOwnerBookings(ownerId, state, cursor, size), size);
     }
 
+    // полная страница — возможно, есть продолжение: отдаём курсор на последний элемент
+    private static ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            BookingDto last = bookings.get(bookings.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, KeysetCursor.after(last.getStart(), last.getId()));
+        }
+        return response.body(bookings);
+    }
 
 }
@@ -18,4 +18,10 @@ public class BookingDto {
     private Status status;
     private BookerDto booker;
     private ItemShortDto item;
+
+    // для JPQL-проекции в BookingRepository
+    public BookingDto(Long id, LocalDateTime start, LocalDateTime end, Status status,
+                      Long bookerId, Long itemId, String itemName) {
+        this(id, start, end, status, new BookerDto(bookerId), new ItemShortDto(itemId, itemName));
+    }
 }
@@ -1,51 +1,149 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    // списки отдаются сразу в виде BookingDto, без загрузки сущностей в контекст персистентности
+    String SELECT_DTO = """
+            SELECT new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.status, b.booker.id, i.id, i.name)
+            FROM Booking b JOIN b.item i
+            """;
+
+    // keyset-пагинация: строки строго после курсора (cursorStart, cursorId) в порядке start DESC, id DESC
+    String AFTER_CURSOR = """
+              AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId))
+            ORDER BY b.start DESC, b.id DESC
+            """;
+
     // --- для booker ---
     //получение всех бронирований по ID от новых к старым
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId);
-
-    //получение всех текущих бронирований по ID (start < now1 и end > now2)
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long bookerId, LocalDateTime now1, LocalDateTime now2);
+    @Query(SELECT_DTO + "WHERE b.booker.id = :bookerId" + AFTER_CURSOR)
+    List<BookingDto> findBookerBookings(@Param("bookerId") Long bookerId,
+                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable page);
+
+    //получение всех текущих бронирований по ID (start < now и end > now)
+    @Query(SELECT_DTO + "WHERE b.booker.id = :bookerId AND b.start < :now AND b.end > :now" + AFTER_CURSOR)
+    List<BookingDto> findBookerCurrentBookings(@Param("bookerId") Long bookerId,
+                                               @Param("now") LocalDateTime now,
+                                               @Param("cursorStart") LocalDateTime cursorStart,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable page);
 
     //получение всех завершенных бронирований по ID (end < now)
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(
-            Long bookerId, LocalDateTime now);
+    @Query(SELECT_DTO + "WHERE b.booker.id = :bookerId AND b.end < :now" + AFTER_CURSOR)
+    List<BookingDto> findBookerPastBookings(@Param("bookerId") Long bookerId,
+                                            @Param("now") LocalDateTime now,
+                                            @Param("cursorStart") LocalDateTime cursorStart,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable page);
 
     //получение всех будущих бронирований по ID (start > now)
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(
-            Long bookerId, LocalDateTime now);
+    @Query(SELECT_DTO + "WHERE b.booker.id = :bookerId AND b.start > :now" + AFTER_CURSOR)
+    List<BookingDto> findBookerFutureBookings(@Param("bookerId") Long bookerId,
+                                              @Param("now") LocalDateTime now,
+                                              @Param("cursorStart") LocalDateTime cursorStart,
+                                              @Param("cursorId") Long cursorId,
+                                              Pageable page);
 
     //получение всех бронирований по ID и статусу
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(
-            Long bookerId, Status status);
+    @Query(SELECT_DTO + "WHERE b.booker.id = :bookerId AND b.status = :status" + AFTER_CURSOR)
+    List<BookingDto> findBookerBookingsByStatus(@Param("bookerId") Long bookerId,
+                                                @Param("status") Status status,
+                                                @Param("cursorStart") LocalDateTime cursorStart,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable page);
 
     // --- для owner ---
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId);
-
-    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long ownerId, LocalDateTime now1, LocalDateTime now2);
-
-    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(
-            Long ownerId, LocalDateTime now);
+    @Query(SELECT_DTO + "WHERE i.owner.id = :ownerId" + AFTER_CURSOR)
+    List<BookingDto> findOwnerBookings(@Param("ownerId") Long ownerId,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable page);
+
+    @Query(SELECT_DTO + "WHERE i.owner.id = :ownerId AND b.start < :now AND b.end > :now" + AFTER_CURSOR)
+    List<BookingDto> findOwnerCurrentBookings(@Param("ownerId") Long ownerId,
+                                              @Param("now") LocalDateTime now,
+                                              @Param("cursorStart") LocalDateTime cursorStart,
+                                              @Param("cursorId") Long cursorId,
+                                              Pageable page);
+
+    @Query(SELECT_DTO + "WHERE i.owner.id = :ownerId AND b.end < :now" + AFTER_CURSOR)
+    List<BookingDto> findOwnerPastBookings(@Param("ownerId") Long ownerId,
+                                           @Param("now") LocalDateTime now,
+                                           @Param("cursorStart") LocalDateTime cursorStart,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable page);
+
+    @Query(SELECT_DTO + "WHERE i.owner.id = :ownerId AND b.start > :now" + AFTER_CURSOR)
+    List<BookingDto> findOwnerFutureBookings(@Param("ownerId") Long ownerId,
+                                             @Param("now") LocalDateTime now,
+                                             @Param("cursorStart") LocalDateTime cursorStart,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable page);
+
+    @Query(SELECT_DTO + "WHERE i.owner.id = :ownerId AND b.status = :status" + AFTER_CURSOR)
+    List<BookingDto> findOwnerBookingsByStatus(@Param("ownerId") Long ownerId,
+                                               @Param("status") Status status,
+                                               @Param("cursorStart") LocalDateTime cursorStart,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable page);
+
+    // для проверки прав нужен владелец вещи, поэтому вещь загружается вместе с бронированием
+    @EntityGraph(attributePaths = "item")
+    Optional<Booking> findWithItemById(Long id);
+
+    // Занятые интервалы вещи, пересекающие [from, to), по возрастанию start.
+    // Подтверждённые бронирования не пересекаются, поэтому нижняя граница диапазона по start_date —
+    // начало последнего бронирования, начавшегося до from: один проход по индексу (item_id, start_date)
+    // вместо чтения всей истории вещи.
+    @Query("""
+            SELECT new ru.practicum.shareit.item.dto.AvailabilityIntervalDto(b.start, b.end, false)
+            FROM Booking b
+            WHERE b.item.id = :itemId
+              AND b.status = :status
+              AND b.start >= COALESCE((SELECT MAX(p.start) FROM Booking p
+                                       WHERE p.item.id = :itemId AND p.status = :status AND p.start < :from), :from)
+              AND b.start < :to
+              AND b.end > :from
+            ORDER BY b.start ASC
+            """)
+    List<AvailabilityIntervalDto> findBusyIntervals(@Param("itemId") Long itemId,
+                                                    @Param("status") Status status,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
 
-    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(
-            Long ownerId, LocalDateTime now);
+    // пересечение с [start, end): подтверждённое бронирование начинается раньше end и заканчивается позже start
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(Long itemId, Status status,
+                                                             LocalDateTime end, LocalDateTime start);
 
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(
-            Long ownerId, Status status);
+    // вещи из itemIds, занятые подтверждённым бронированием в [start, end), — одним запросом на весь список
+    @Query("""
+            SELECT DISTINCT b.item.id FROM Booking b
+            WHERE b.item.id IN :itemIds
+              AND b.status = :status
+              AND b.start < :end
+              AND b.end > :start
+            """)
+    List<Long> findBookedItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                 @Param("status") Status status,
+                                 @Param("start") LocalDateTime start,
+                                 @Param("end") LocalDateTime end);
 
     boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(
             Long bookerId,
@@ -78,25 +176,27 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                   @Param("status") Status status,
                                   Pageable pageable);
 
-    @Query("""
-            SELECT b FROM Booking b
-            WHERE b.item.id IN :itemIds
-              AND b.start < :currentTime
-              AND b.status = 'APPROVED'
-            ORDER BY b.start DESC
-            """)
-    List<Booking> findLastBookings(@Param("itemIds") List<Long> itemIds,
-                                   @Param("currentTime") LocalDateTime currentTime);
-
-    @Query("""
-            SELECT b FROM Booking b
-            WHERE b.item.id IN :itemIds
-              AND b.start > :currentTime
-              AND b.status = 'APPROVED'
-            ORDER BY b.start ASC
-            """)
-    List<Booking> findNextBookings(@Param("itemIds") List<Long> itemIds,
-                                   @Param("currentTime") LocalDateTime currentTime);
+    // по одной строке LAST и NEXT на вещь, без загрузки сущностей бронирований
+    @Query(value = """
+            SELECT e.item_id AS itemId, e.booking_id AS bookingId, e.booker_id AS bookerId, e.kind AS kind
+            FROM (
+                SELECT b.item_id, b.id AS booking_id, b.booker_id, 'LAST' AS kind,
+                       row_number() OVER (PARTITION BY b.item_id ORDER BY b.start_date DESC, b.id DESC) AS rn
+                FROM bookings b
+                WHERE b.item_id IN (:itemIds)
+                  AND b.status = 'APPROVED'
+                  AND b.start_date < :currentTime
+                UNION ALL
+                SELECT b.item_id, b.id AS booking_id, b.booker_id, 'NEXT' AS kind,
+                       row_number() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC, b.id ASC) AS rn
+                FROM bookings b
+                WHERE b.item_id IN (:itemIds)
+                  AND b.status = 'APPROVED'
+                  AND b.start_date > :currentTime
+            ) e
+            WHERE e.rn = 1
+            """, nativeQuery = true)
+    List<ItemBookingEdge> findBookingEdges(@Param("itemIds") List<Long> itemIds,
+                                           @Param("currentTime") LocalDateTime currentTime);
 
 }
-
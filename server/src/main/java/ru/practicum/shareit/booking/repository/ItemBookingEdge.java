@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.repository;
+
+// Последнее (LAST) или ближайшее следующее (NEXT) подтверждённое бронирование вещи
+public interface ItemBookingEdge {
+
+    String LAST = "LAST";
+    String NEXT = "NEXT";
+
+    Long getItemId();
+
+    Long getBookingId();
+
+    Long getBookerId();
+
+    String getKind();
+
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
@@ -14,8 +16,12 @@ import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCardCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.TimedBranch;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.User;
 
@@ -27,9 +33,13 @@ import java.util.List;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final ItemCardCache itemCardCache;
 
 
     @Override
@@ -55,8 +65,10 @@ public class BookingServiceImpl implements BookingService {
             throw new ConflictException("Дата начала не может быть в прошлом");
         }
 
-        User booker = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь ID=" + userId + " не найден"));
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователь ID=" + userId + " не найден");
+        }
+        User booker = userRepository.getReferenceById(userId);
 
         Item item = itemRepository.findById(dto.getItemId())
                 .orElseThrow(() -> new NotFoundException("Вещь ID=" + dto.getItemId() + " не найдена"));
@@ -71,6 +83,12 @@ public class BookingServiceImpl implements BookingService {
             throw new ForbiddenException("Нельзя забронировать свою вещь");
         }
 
+        // предварительная проверка без блокировки: окончательно пересечение проверяется при подтверждении
+        if (hasApprovedOverlap(item.getId(), dto.getStart(), dto.getEnd())) {
+            log.warn("Вещь ID={} уже забронирована на период {} — {}", item.getId(), dto.getStart(), dto.getEnd());
+            throw new ConflictException("Вещь уже забронирована на эти даты");
+        }
+
         Booking booking = BookingMapper.toBooking(dto, item, booker);
         booking.setStatus(Status.WAITING);
         Booking created = bookingRepository.save(booking);
@@ -87,7 +105,7 @@ public class BookingServiceImpl implements BookingService {
             throw new ConflictException("ID владельца и ID бронирования не может быть null");
         }
 
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithItemById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование ID=" + bookingId + " не найдено"));
 
         if (!booking.getItem().getOwner().getId().equals(ownerId)) {
@@ -101,6 +119,14 @@ public class BookingServiceImpl implements BookingService {
         }
 
         if (approved) {
+            // без блокировки два параллельных подтверждения пересекающихся бронирований
+            // не видят друг друга и оба проходят проверку
+            itemRepository.findByIdForUpdate(booking.getItem().getId());
+            if (hasApprovedOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+                log.warn("Бронирование ID={} пересекается с подтверждённым бронированием вещи ID={}",
+                        bookingId, booking.getItem().getId());
+                throw new ConflictException("Вещь уже забронирована на эти даты");
+            }
             log.info("Владелец ID={}, подтвердил бронирование вещи ID={}", ownerId, booking.getItem().getId());
             booking.setStatus(Status.APPROVED);
         } else {
@@ -109,6 +135,8 @@ public class BookingServiceImpl implements BookingService {
         }
 
         Booking updated = bookingRepository.save(booking);
+        // подтверждённое бронирование может стать last/next booking в карточке вещи
+        itemCardCache.evict(booking.getItem().getId());
         return BookingMapper.toBookingDto(updated);
     }
 
@@ -119,10 +147,11 @@ public class BookingServiceImpl implements BookingService {
             log.error("ID пользователя ={} и ID бронирования ={} не может быть null", userId, bookingId);
             throw new ConflictException("ID пользователя и ID бронирования не может быть null");
         }
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователя ID=" + userId + " не найден"));
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователя ID=" + userId + " не найден");
+        }
 
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithItemById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование ID=" + bookingId + " не найдено"));
 
         if (!booking.getBooker().getId().equals(userId) &&
@@ -135,84 +164,103 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getUserBookings(Long userId, String state) {
+    public List<BookingDto> getUserBookings(Long userId, @TimedBranch String state, String cursor, int size) {
         if (userId == null) {
             log.error("ID пользователя не может быть null");
             throw new ConflictException("ID пользователя не может быть null");
         }
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователя ID=" + userId + " не найден"));
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователя ID=" + userId + " не найден");
+        }
 
+        KeysetCursor after = KeysetCursor.parse(cursor);
+        Pageable page = toPage(size);
         LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
+        List<BookingDto> bookings;
 
         switch (state.toUpperCase()) {
             case "CURRENT":
-                bookings = bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId, now, now);
+                bookings = bookingRepository.findBookerCurrentBookings(
+                        userId, now, after.getTime(), after.getId(), page);
                 break;
             case "PAST":
-                bookings = bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(userId, now);
+                bookings = bookingRepository.findBookerPastBookings(
+                        userId, now, after.getTime(), after.getId(), page);
                 break;
             case "FUTURE":
-                bookings = bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(userId, now);
+                bookings = bookingRepository.findBookerFutureBookings(
+                        userId, now, after.getTime(), after.getId(), page);
                 break;
             case "WAITING":
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, Status.WAITING);
+                bookings = bookingRepository.findBookerBookingsByStatus(
+                        userId, Status.WAITING, after.getTime(), after.getId(), page);
                 break;
             case "REJECTED":
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, Status.REJECTED);
+                bookings = bookingRepository.findBookerBookingsByStatus(
+                        userId, Status.REJECTED, after.getTime(), after.getId(), page);
                 break;
             case "ALL":
             default:
-                bookings = bookingRepository.findByBookerIdOrderByStartDesc(userId);
+                bookings = bookingRepository.findBookerBookings(userId, after.getTime(), after.getId(), page);
 
         }
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .toList();
+        return bookings;
     }
 
 
     @Override
-    public List<BookingDto> getOwnerBookings(Long ownerId, String state) {
+    public List<BookingDto> getOwnerBookings(Long ownerId, @TimedBranch String state, String cursor, int size) {
         if (ownerId == null) {
             log.error("ID владельца не может быть null");
             throw new ConflictException("ID владельца не может быть null");
         }
-        userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь ID=" + ownerId + " не найден"));
+        if (!userExistenceCache.exists(ownerId)) {
+            throw new NotFoundException("Пользователь ID=" + ownerId + " не найден");
+        }
 
+        KeysetCursor after = KeysetCursor.parse(cursor);
+        Pageable page = toPage(size);
         LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
+        List<BookingDto> bookings;
 
         switch (state.toUpperCase()) {
             case "CURRENT":
                 bookings = bookingRepository
-                        .findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(ownerId, now, now);
+                        .findOwnerCurrentBookings(ownerId, now, after.getTime(), after.getId(), page);
                 break;
             case "PAST":
                 bookings = bookingRepository
-                        .findByItemOwnerIdAndEndBeforeOrderByStartDesc(ownerId, now);
+                        .findOwnerPastBookings(ownerId, now, after.getTime(), after.getId(), page);
                 break;
             case "FUTURE":
                 bookings = bookingRepository
-                        .findByItemOwnerIdAndStartAfterOrderByStartDesc(ownerId, now);
+                        .findOwnerFutureBookings(ownerId, now, after.getTime(), after.getId(), page);
                 break;
             case "WAITING":
                 bookings = bookingRepository
-                        .findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, Status.WAITING);
+                        .findOwnerBookingsByStatus(ownerId, Status.WAITING, after.getTime(), after.getId(), page);
                 break;
             case "REJECTED":
                 bookings = bookingRepository
-                        .findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, Status.REJECTED);
+                        .findOwnerBookingsByStatus(ownerId, Status.REJECTED, after.getTime(), after.getId(), page);
                 break;
             case "ALL":
             default:
-                bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId);
+                bookings = bookingRepository.findOwnerBookings(ownerId, after.getTime(), after.getId(), page);
+        }
+        return bookings;
+    }
+
+
+    private static Pageable toPage(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            log.error("Недопустимый размер страницы: {}", size);
+            throw new ValidationException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE);
         }
+        return PageRequest.of(0, size);
+    }
 
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .toList();
+    private boolean hasApprovedOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(itemId, Status.APPROVED, end, start);
     }
 }
@@ -1,15 +1,22 @@
 package ru.practicum.shareit.item;
 
-
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.CommentService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @Validated
 @Slf4j
@@ -17,6 +24,10 @@ import java.util.Collection;
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
+    private static final String DEFAULT_SEARCH_PAGE_SIZE = "100";
+    private static final String DEFAULT_COMMENT_PAGE_SIZE = "20";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ItemService itemService;
     private final CommentService commentService;
 
@@ -30,6 +41,16 @@ public class ItemController {
         return itemService.createItem(ownerId, itemCreateDto);
     }
 
+    // добавление вещей списком одной транзакцией, например при переносе инвентаря владельца
+    @PostMapping("/batch")
+    public List<ItemDto> createItems(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestBody List<ItemCreateDto> itemCreateDtos
+    ) {
+        log.info("POST /items/batch - добавление {} вещей пользователем ID={}", itemCreateDtos.size(), ownerId);
+        return itemService.createItems(ownerId, itemCreateDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
@@ -56,12 +77,29 @@ public class ItemController {
         return itemService.getAllItemsByOwner(ownerId);
     }
 
+    // GET /items/search?text=дрель&start=2026-01-01T10:00:00&end=2026-01-02T10:00:00&from=0&size=20
     @GetMapping("/search")
     public Collection<ItemDto> searchItems(
-            @RequestParam String text
+            @RequestParam String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+            @RequestParam(defaultValue = DEFAULT_SEARCH_PAGE_SIZE) @Positive @Max(1000) int size
+    ) {
+        log.info("GET /items/search?text={}&start={}&end={}&from={}&size={} - поиск доступных вещей",
+                text, start, end, from, size);
+        return itemService.searchItems(text, start, end, from, size);
+    }
+
+    // GET /items/{itemId}/availability?from=2026-01-01T00:00:00&to=2026-04-01T00:00:00
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
     ) {
-        log.info("GET /items/search?text={} - поиск доступных вещей", text);
-        return itemService.searchItems(text);
+        log.info("GET /items/{}/availability?from={}&to={} - календарь занятости вещи", itemId, from, to);
+        return itemService.getItemAvailability(itemId, from, to);
     }
 
     @DeleteMapping("/{itemId}")
@@ -73,6 +111,24 @@ public class ItemController {
         itemService.deleteItem(ownerId, itemId);
     }
 
+    // GET /items/{itemId}/comments?cursor=2026-01-01T10:00:00_15&size=20 — лента комментариев, новые первыми
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_COMMENT_PAGE_SIZE) int size
+    ) {
+        log.info("GET /items/{}/comments?cursor={}&size={} - лента комментариев вещи", itemId, cursor, size);
+        List<CommentDto> comments = commentService.getCommentsByItem(itemId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        // полная страница — возможно, есть продолжение: отдаём курсор на последний комментарий
+        if (comments.size() == size) {
+            CommentDto last = comments.get(comments.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, KeysetCursor.after(last.getCreated(), last.getId()));
+        }
+        return response.body(comments);
+    }
+
     //POST /items/{itemId}/comment
     @PostMapping("/{itemId}/comment")
     public CommentDto createComment(
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Кэш карточек вещей (GET /items/{id}).
+// Для каждой вещи хранятся две независимые записи: вид владельца (с last/next booking) и вид остальных
+// пользователей. В записи лежит ID владельца, чтобы по ID запрашивающего выбрать нужный вид без обращения к БД.
+// last/next booking зависят от текущего времени, поэтому записи живут не дольше ttl.
+// Карточка кладётся с версией вещи, прочитанной до загрузки из БД (version), а каждое удаление версию увеличивает:
+// так карточка, собранная по данным до изменения, не попадёт в кэш после его удаления.
+@Component
+public class ItemCardCache {
+    // версии хранятся по полосам ID: совпадение полос у разных вещей лишь пропускает запись в кэш
+    private static final int VERSION_STRIPES = 1024;
+
+    private final Cache<Key, Entry> cache;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public ItemCardCache(@Value("${shareit.cache.item-card.max-size:10000}") long maxSize,
+                         @Value("${shareit.cache.item-card.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Optional<ItemWithBookingsDto> get(Long itemId, Long userId) {
+        Entry publicView = cache.getIfPresent(new Key(itemId, false));
+        if (publicView != null && !publicView.ownerId().equals(userId)) {
+            return Optional.of(publicView.card());
+        }
+        Entry ownerView = cache.getIfPresent(new Key(itemId, true));
+        if (ownerView != null && ownerView.ownerId().equals(userId)) {
+            return Optional.of(ownerView.card());
+        }
+        return Optional.empty();
+    }
+
+    // читается до загрузки карточки из БД и передаётся в put
+    public long version(Long itemId) {
+        return versions.get(stripe(itemId));
+    }
+
+    // карточка кладётся, только если с чтения version вещь не удалялась из кэша; сравнение и запись атомарны
+    // относительно evict, поэтому удаление либо отклонит запись, либо выполнится после неё и уберёт её
+    public void put(Long itemId, Long ownerId, boolean ownerView, ItemWithBookingsDto card, long version) {
+        cache.asMap().compute(new Key(itemId, ownerView),
+                (key, cached) -> version(itemId) == version ? new Entry(ownerId, card) : cached);
+    }
+
+    // удаление выполняется и сразу, и после коммита: запрос, прочитавший версию до коммита, мог загрузить
+    // старые данные, и его put будет отклонён; запрос, прочитавший её после, видит уже закоммиченные данные
+    public void evict(Long itemId) {
+        evictNowAndAfterCommit(() -> {
+            versions.incrementAndGet(stripe(itemId));
+            cache.invalidate(new Key(itemId, false));
+            cache.invalidate(new Key(itemId, true));
+        });
+    }
+
+    public void evictAll() {
+        evictNowAndAfterCommit(() -> {
+            for (int i = 0; i < VERSION_STRIPES; i++) {
+                versions.incrementAndGet(i);
+            }
+            cache.invalidateAll();
+        });
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static int stripe(Long itemId) {
+        return Long.hashCode(itemId) & (VERSION_STRIPES - 1);
+    }
+
+    private static void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private record Key(Long itemId, boolean ownerView) {
+    }
+
+    private record Entry(Long ownerId, ItemWithBookingsDto card) {
+    }
+
+}
@@ -15,6 +15,13 @@ public class ItemDto {
     private String description;
     private Boolean available;
     private Long requestId;
+    // в списках comments — только последние комментарии, commentCount — сколько их всего
+    private Long commentCount;
     private List<CommentDto> comments;
 
+    // для JPQL-проекции в ItemRepository
+    public ItemDto(Long id, String name, String description, Boolean available, Long requestId) {
+        this(id, name, description, available, requestId, 0L, List.of());
+    }
+
 }
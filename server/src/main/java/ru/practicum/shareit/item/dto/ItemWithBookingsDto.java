@@ -20,6 +20,10 @@ public class ItemWithBookingsDto {
     private BookingShortDto lastBooking;
     private BookingShortDto nextBooking;
 
+    // в списке вещей владельца comments — только последние комментарии, commentCount — сколько их всего
+    private Long commentCount;
     private List<CommentDto> comments;
+    // продолжение ленты: GET /items/{itemId}/comments?cursor=<nextCommentsCursor>, null — в comments уже все
+    private String nextCommentsCursor;
 
 }
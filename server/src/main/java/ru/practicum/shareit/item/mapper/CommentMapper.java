@@ -7,6 +7,7 @@ import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentPreview;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
@@ -28,6 +29,18 @@ public class CommentMapper {
         );
     }
 
+    public static CommentDto toCommentDto(CommentPreview preview) {
+        if (preview == null) {
+            return null;
+        }
+        return new CommentDto(
+                preview.getId(),
+                preview.getText(),
+                preview.getAuthorName(),
+                preview.getCreated()
+        );
+    }
+
     public static Comment toComment(CommentCreateDto dto, Item item, User author) {
         if (dto == null) {
             return null;
@@ -2,11 +2,11 @@ package ru.practicum.shareit.item.mapper;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
@@ -34,15 +34,33 @@ public class ItemMapper {
                 item.getDescription(),
                 item.getAvailable(),
                 item.getRequest() != null ? item.getRequest().getId() : null,
+                (long) commentDtos.size(),
                 commentDtos
         );
     }
 
+    // для списков: последние комментарии и их общее число
+    public static ItemDto toItemDto(Item item, List<CommentDto> latestComments, long commentCount) {
+        if (item == null) {
+            return null;
+        }
+
+        return new ItemDto(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getRequest() != null ? item.getRequest().getId() : null,
+                commentCount,
+                latestComments != null ? latestComments : List.of()
+        );
+    }
+
 
     public static ItemWithBookingsDto toItemWithBookingsDto(
             Item item,
-            Booking lastBooking,
-            Booking nextBooking,
+            BookingShortDto lastBooking,
+            BookingShortDto nextBooking,
             List<Comment> comments
     ) {
         if (item == null) {
@@ -56,13 +74,32 @@ public class ItemMapper {
                 .toList()
                 : List.of();
 
-        BookingShortDto lastBookingDto = (lastBooking != null)
-                ? new BookingShortDto(lastBooking.getId(), lastBooking.getBooker().getId())
-                : null;
+        return new ItemWithBookingsDto(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getRequest() != null ? item.getRequest().getId() : null,
+                lastBooking,
+                nextBooking,
+                (long) commentDtos.size(),
+                commentDtos,
+                null
+        );
+    }
 
-        BookingShortDto nextBookingDto = (nextBooking != null)
-                ? new BookingShortDto(nextBooking.getId(), nextBooking.getBooker().getId())
-                : null;
+    // для карточки и списка вещей владельца: первые комментарии ленты и их общее число
+    public static ItemWithBookingsDto toItemWithBookingsDto(
+            Item item,
+            BookingShortDto lastBooking,
+            BookingShortDto nextBooking,
+            List<CommentDto> latestComments,
+            long commentCount
+    ) {
+        if (item == null) {
+            return null;
+        }
+        List<CommentDto> comments = latestComments != null ? latestComments : List.of();
 
         return new ItemWithBookingsDto(
                 item.getId(),
@@ -70,13 +107,25 @@ public class ItemMapper {
                 item.getDescription(),
                 item.getAvailable(),
                 item.getRequest() != null ? item.getRequest().getId() : null,
-                lastBookingDto,
-                nextBookingDto,
-                commentDtos
+                lastBooking,
+                nextBooking,
+                commentCount,
+                comments,
+                nextCommentsCursor(comments, commentCount)
         );
     }
 
 
+    // курсор на последний выданный комментарий, если в ленте есть ещё
+    private static String nextCommentsCursor(List<CommentDto> comments, long commentCount) {
+        if (comments.isEmpty() || comments.size() >= commentCount) {
+            return null;
+        }
+        CommentDto last = comments.get(comments.size() - 1);
+        return KeysetCursor.after(last.getCreated(), last.getId());
+    }
+
+
     public static Item toItem(ItemCreateDto dto, User owner, ItemRequest request) {
         if (dto == null) {
             return null;
@@ -15,7 +15,9 @@ import ru.practicum.shareit.user.User;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // id из последовательности блоками по allocationSize: позволяет отправлять INSERT пачками
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -25,7 +27,7 @@ public class Item {
     @Column(name = "description", length = 512, nullable = false)
     private String description;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "owner_id", nullable = false,
             foreignKey = @ForeignKey(name = "fk_item_owner"))
     private User owner;
@@ -33,7 +35,7 @@ public class Item {
     @Column(nullable = false)
     private Boolean available;
 
-    @ManyToOne(optional = true)
+    @ManyToOne(fetch = FetchType.LAZY, optional = true)
     @JoinColumn(name = "request_id",
             foreignKey = @ForeignKey(name = "fk_item_request"))
     private ItemRequest request;
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.repository;
+
+import java.time.LocalDateTime;
+
+// Один из последних комментариев вещи; total — общее число комментариев вещи, одинаковое во всех её строках
+public interface CommentPreview {
+
+    Long getItemId();
+
+    Long getId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+
+    Long getTotal();
+
+}
@@ -1,17 +1,61 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByItemId(Long itemId);
 
-    @Query("SELECT c FROM Comment c WHERE c.item.id IN :itemIds")
-    List<Comment> findByItemIds(@Param("itemIds") List<Long> itemIds);
+    // keyset-пагинация ленты: комментарии строго после курсора (cursorCreated, cursorId)
+    // в порядке created DESC, id DESC — по индексу ix_comments_item_created
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, a.name, c.created) " +
+           "FROM Comment c JOIN c.author a " +
+           "WHERE c.item.id = :itemId " +
+           "AND (c.created < :cursorCreated OR (c.created = :cursorCreated AND c.id < :cursorId)) " +
+           "ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findCommentPage(@Param("itemId") Long itemId,
+                                     @Param("cursorCreated") LocalDateTime cursorCreated,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable page);
+
+    // до limit последних комментариев каждой вещи и их общее число; авторы подтягиваются только для этих строк
+    @Query(value = """
+            SELECT p.item_id AS itemId, p.id AS id, p.text AS text, u.name AS authorName,
+                   p.created AS created, p.total AS total
+            FROM (
+                SELECT c.item_id, c.id, c.text, c.author_id, c.created,
+                       row_number() OVER (PARTITION BY c.item_id ORDER BY c.created DESC, c.id DESC) AS rn,
+                       count(*) OVER (PARTITION BY c.item_id) AS total
+                FROM comments c
+                WHERE c.item_id IN (:itemIds)
+            ) p
+            JOIN users u ON u.id = p.author_id
+            WHERE p.rn <= :limit
+            ORDER BY p.item_id, p.rn
+            """, nativeQuery = true)
+    List<CommentPreview> findCommentPreviews(@Param("itemIds") List<Long> itemIds, @Param("limit") int limit);
+
+    // первая страница ленты одной вещи (как findCommentPage без курсора) и общее число комментариев:
+    // строки читаются из начала ix_comments_item_created, count — некоррелированный подзапрос, считается один раз
+    @Query(value = """
+            SELECT c.item_id AS itemId, c.id AS id, c.text AS text, u.name AS authorName, c.created AS created,
+                   (SELECT count(*) FROM comments t WHERE t.item_id = :itemId) AS total
+            FROM comments c
+            JOIN users u ON u.id = c.author_id
+            WHERE c.item_id = :itemId
+            ORDER BY c.created DESC, c.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<CommentPreview> findFirstCommentPage(@Param("itemId") Long itemId, @Param("limit") int limit);
 
 }
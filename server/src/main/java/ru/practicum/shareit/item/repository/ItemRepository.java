@@ -1,22 +1,91 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findByOwnerIdOrderByIdAsc(Long ownerId);
 
+    // SELECT ... FOR UPDATE: подтверждения бронирований одной вещи выполняются по очереди
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
     @Query("select i from Item i " +
            "where i.available = true " +
            "and (upper(i.name) like upper(concat('%', ?1, '%')) " +
-           "or upper(i.description) like upper(concat('%', ?1, '%')))")
-    List<Item> search(String text);
+           "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+           "order by case when upper(i.name) like upper(concat('%', ?1, '%')) then 0 else 1 end, i.id")
+    List<Item> search(String text, Pageable page);
+
+    // то же, но без вещей, у которых есть подтверждённая бронь, пересекающая [start, end) — анти-джойн в одном запросе
+    @Query("select i from Item i " +
+           "where i.available = true " +
+           "and (upper(i.name) like upper(concat('%', :text, '%')) " +
+           "or upper(i.description) like upper(concat('%', :text, '%'))) " +
+           "and not exists (select b.id from Booking b " +
+           "where b.item = i and b.status = ru.practicum.shareit.booking.Status.APPROVED " +
+           "and b.start < :end and b.end > :start) " +
+           "order by case when upper(i.name) like upper(concat('%', :text, '%')) then 0 else 1 end, i.id")
+    List<Item> searchAvailable(@Param("text") String text,
+                               @Param("start") LocalDateTime start,
+                               @Param("end") LocalDateTime end,
+                               Pageable page);
+
+    // совпадение то же, что у search: весь текст — подстрока названия или описания без учёта регистра,
+    // кандидатов находят GIN(gin_trgm_ops). plainto_tsquery в условии искал бы слова по отдельности
+    // ("power drill" нашёл бы и "Drill" с описанием "Power tool"), поэтому search_vector только ранжирует:
+    // phraseto_tsquery поднимает вещи, где фраза стоит отдельными словами.
+    // Страница (LIMIT/OFFSET) берётся из page, сортировка задана в самом запросе
+    @Query(value = """
+            SELECT i.* FROM items i
+            WHERE i.available = true
+              AND (i.name ILIKE ('%' || :text || '%')
+                   OR i.description ILIKE ('%' || :text || '%'))
+            ORDER BY ts_rank(i.search_vector, phraseto_tsquery('simple', :text)) DESC,
+                     (i.name ILIKE ('%' || :text || '%')) DESC,
+                     i.id
+            """, nativeQuery = true)
+    List<Item> fullTextSearch(@Param("text") String text, Pageable page);
+
+    // пересечение проверяется по GiST-индексу ограничения ex_bookings_item_approved_overlap (item_id, tsrange),
+    // поэтому предикат повторяет его выражение и условие status = 'APPROVED'
+    @Query(value = """
+            SELECT i.* FROM items i
+            WHERE i.available = true
+              AND (i.name ILIKE ('%' || :text || '%')
+                   OR i.description ILIKE ('%' || :text || '%'))
+              AND NOT EXISTS (
+                  SELECT 1 FROM bookings b
+                  WHERE b.item_id = i.id
+                    AND b.status = 'APPROVED'
+                    AND tsrange(b.start_date, b.end_date, '[)') && tsrange(:start, :end, '[)'))
+            ORDER BY ts_rank(i.search_vector, phraseto_tsquery('simple', :text)) DESC,
+                     (i.name ILIKE ('%' || :text || '%')) DESC,
+                     i.id
+            """, nativeQuery = true)
+    List<Item> fullTextSearchAvailable(@Param("text") String text,
+                                       @Param("start") LocalDateTime start,
+                                       @Param("end") LocalDateTime end,
+                                       Pageable page);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.request.id) " +
+           "FROM Item i WHERE i.request.id IN :requestIds")
+    List<ItemDto> findItemDtosByRequestIdIn(@Param("requestIds") List<Long> requestIds);
 
-    List<Item> findByRequestIdIn(List<Long> requestIds);
+    List<Item> findByAvailableTrueAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
 }
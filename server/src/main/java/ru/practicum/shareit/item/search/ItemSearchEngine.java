@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Поисковый бэкенд для /items/search: возвращает страницу доступных вещей, отсортированных по релевантности.
+// Реализация выбирается свойством shareit.search.engine.
+public interface ItemSearchEngine {
+
+    List<Item> search(String text, Pageable page);
+
+    // Только вещи, свободные весь период [start, end): без подтверждённых бронирований, пересекающих его
+    List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, Pageable page);
+
+    // Уведомления об изменениях нужны только бэкендам с собственным индексом
+    default void onItemSaved(Item item) {
+    }
+
+    // Пакетное создание: бэкенд с индексом может применить все вещи одним изменением
+    default void onItemsSaved(Collection<Item> items) {
+        items.forEach(this::onItemSaved);
+    }
+
+    default void onItemDeleted(Long itemId) {
+    }
+
+    default void onOwnerDeleted(Long ownerId) {
+    }
+
+}
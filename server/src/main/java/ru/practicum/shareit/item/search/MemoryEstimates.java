@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.search;
+
+// Приблизительные размеры объектов для 64-битной JVM со сжатыми указателями.
+final class MemoryEstimates {
+    static final int OBJECT_HEADER = 12;
+    static final int REFERENCE = 4;
+    static final int BOXED_LONG = 16;
+    private static final int ARRAY_HEADER = 16;
+    private static final int HASH_MAP_NODE = 32;
+
+    private MemoryEstimates() {
+    }
+
+    static long string(String value) {
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        return align(OBJECT_HEADER + 12) + array((long) value.length() * (latin1 ? 1 : 2));
+    }
+
+    static long postingList(PostingList list) {
+        return list.size() == 0 ? 0 : align(OBJECT_HEADER + REFERENCE + 4) + array(list.sizeInBytes());
+    }
+
+    static long mapEntry() {
+        return HASH_MAP_NODE + REFERENCE;
+    }
+
+    private static long array(long length) {
+        return align(ARRAY_HEADER + length);
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
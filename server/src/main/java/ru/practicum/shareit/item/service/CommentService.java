@@ -9,6 +9,6 @@ public interface CommentService {
 
     CommentDto createComment(Long userId, Long itemId, CommentCreateDto dto);
 
-    List<CommentDto> getCommentsByItem(Long itemId);
+    List<CommentDto> getCommentsByItem(Long itemId, String cursor, int size);
 
 }
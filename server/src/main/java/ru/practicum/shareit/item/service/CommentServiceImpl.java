@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Status;
@@ -9,6 +10,7 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCardCache;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
@@ -16,6 +18,7 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -27,10 +30,13 @@ import java.util.List;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class CommentServiceImpl implements CommentService {
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final ItemCardCache itemCardCache;
 
 
     @Override
@@ -59,21 +65,27 @@ public class CommentServiceImpl implements CommentService {
 
         Comment comment = CommentMapper.toComment(dto, item, author);
         Comment created = commentRepository.save(comment);
+        itemCardCache.evict(itemId);
 
         log.info("Пользователь ID={} оставил комментарий ID={} к вещи ID={}", userId, created.getId(), itemId);
         return CommentMapper.toCommentDto(created);
     }
 
     @Override
-    public List<CommentDto> getCommentsByItem(Long itemId) {
+    public List<CommentDto> getCommentsByItem(Long itemId, String cursor, int size) {
         if (itemId == null) {
             log.error("ID вещи не может быть null");
             throw new ConflictException("ID вещи не может быть null");
         }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            log.error("Недопустимый размер страницы: {}", size);
+            throw new ValidationException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE);
+        }
 
-        List<Comment> comments = commentRepository.findByItemId(itemId);
-        return comments.stream()
-                .map(CommentMapper::toCommentDto)
-                .toList();
+        KeysetCursor after = KeysetCursor.parse(cursor);
+        List<CommentDto> comments = commentRepository.findCommentPage(
+                itemId, after.getTime(), after.getId(), PageRequest.of(0, size));
+        log.info("Лента комментариев вещи ID={} (cursor={}, size={}): {} шт.", itemId, cursor, size, comments.size());
+        return comments;
     }
 }
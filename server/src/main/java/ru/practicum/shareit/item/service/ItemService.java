@@ -1,24 +1,31 @@
 package ru.practicum.shareit.item.service;
 
 
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemService {
 
     ItemDto createItem(Long ownerId, ItemCreateDto itemCreateDto);
 
+    List<ItemDto> createItems(Long ownerId, List<ItemCreateDto> itemCreateDtos);
+
     ItemDto updateItem(Long ownerId, Long itemId, ItemUpdateDto itemUpdateDto);
 
     ItemWithBookingsDto getItemById(Long userId, Long itemId);
 
     Collection<ItemWithBookingsDto> getAllItemsByOwner(Long ownerId);
 
-    Collection<ItemDto> searchItems(String text);
+    Collection<ItemDto> searchItems(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
+    ItemAvailabilityDto getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 
     void deleteItem(Long ownerId, Long itemId);
 
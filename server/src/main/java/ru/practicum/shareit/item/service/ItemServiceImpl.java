@@ -7,28 +7,44 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingEdge;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCardCache;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentPreview;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -36,11 +52,21 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final int DEFAULT_AVAILABILITY_DAYS = 90;
+    private static final int MAX_AVAILABILITY_DAYS = 366;
+    private static final int COMMENT_PREVIEW_SIZE = 3;
+    private static final int CARD_COMMENT_PAGE_SIZE = 20;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final ItemRepository itemRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemCardCache itemCardCache;
 
 
     @Override
@@ -50,8 +76,10 @@ public class ItemServiceImpl implements ItemService {
             throw new ConflictException("ID владельца не может быть null");
         }
 
-        User owner = userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("Владелец ID=" + ownerId + " не найден"));
+        if (!userExistenceCache.exists(ownerId)) {
+            throw new NotFoundException("Владелец ID=" + ownerId + " не найден");
+        }
+        User owner = userRepository.getReferenceById(ownerId);
 
         ItemRequest request = null;
         if (itemCreateDto.getRequestId() != null) {
@@ -61,10 +89,55 @@ public class ItemServiceImpl implements ItemService {
 
         Item item = ItemMapper.toItem(itemCreateDto, owner, request);
         Item created = itemRepository.save(item);
-        List<Comment> comments = commentRepository.findByItemId(created.getId());
+        itemSearchEngine.onItemSaved(created);
 
         log.info("Пользователем ID={},  создана новая вещь ID={}", ownerId, created.getId());
-        return ItemMapper.toItemDto(created, comments);
+        // у новой вещи ещё нет комментариев
+        return ItemMapper.toItemDto(created, List.of());
+    }
+
+
+    @Override
+    @Transactional
+    public List<ItemDto> createItems(Long ownerId, List<ItemCreateDto> itemCreateDtos) {
+        if (ownerId == null) {
+            throw new ConflictException("ID владельца не может быть null");
+        }
+        if (itemCreateDtos.size() > MAX_BATCH_SIZE) {
+            log.error("Слишком много вещей в одном запросе: {}", itemCreateDtos.size());
+            throw new ValidationException("За один запрос можно добавить не больше " + MAX_BATCH_SIZE + " вещей");
+        }
+
+        if (!userExistenceCache.exists(ownerId)) {
+            throw new NotFoundException("Владелец ID=" + ownerId + " не найден");
+        }
+        User owner = userRepository.getReferenceById(ownerId);
+
+        // все запросы одним SELECT ... IN вместо findById на каждую вещь
+        List<Long> requestIds = itemCreateDtos.stream()
+                .map(ItemCreateDto::getRequestId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, request -> request));
+        for (Long requestId : requestIds) {
+            if (!requests.containsKey(requestId)) {
+                throw new NotFoundException("Запрос ID=" + requestId + " не найден");
+            }
+        }
+
+        List<Item> items = itemCreateDtos.stream()
+                .map(dto -> ItemMapper.toItem(dto, owner, requests.get(dto.getRequestId())))
+                .toList();
+        // id выдаются из items_seq без обращения к базе на каждую вещь, INSERT уходят пачками при flush
+        List<Item> created = itemRepository.saveAll(items);
+        itemSearchEngine.onItemsSaved(created);
+
+        log.info("Пользователем ID={} создано вещей: {}", ownerId, created.size());
+        return created.stream()
+                .map(item -> ItemMapper.toItemDto(item, List.of()))
+                .toList();
     }
 
 
@@ -92,6 +165,8 @@ public class ItemServiceImpl implements ItemService {
 
         ItemMapper.updateItem(item, itemUpdateDto, request);
         Item updated = itemRepository.save(item);
+        itemSearchEngine.onItemSaved(updated);
+        itemCardCache.evict(itemId);
         List<Comment> comments = commentRepository.findByItemId(updated.getId());
 
         log.info("Пользователь ID={} обновил вещь ID={}", ownerId, updated.getId());
@@ -106,32 +181,46 @@ public class ItemServiceImpl implements ItemService {
             throw new ConflictException("ID пользователя и ID вещи не могут быть null");
         }
 
+        Optional<ItemWithBookingsDto> cached = itemCardCache.get(itemId, userId);
+        if (cached.isPresent()) {
+            log.debug("Карточка вещи ID={} взята из кэша", itemId);
+            return cached.get();
+        }
+
+        long cacheVersion = itemCardCache.version(itemId);
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("вещь с ID=" + itemId + " не найдена"));
 
-        LocalDateTime now = LocalDateTime.now();
+        // в карточке — первая страница ленты комментариев, продолжение — GET /items/{itemId}/comments с nextCommentsCursor
+        List<CommentPreview> comments = commentRepository.findFirstCommentPage(itemId, CARD_COMMENT_PAGE_SIZE);
+        List<CommentDto> firstPage = toCommentDtos(comments);
+        long commentCount = commentCount(comments);
+        Long ownerId = item.getOwner().getId();
 
-        List<Comment> comments = commentRepository.findByItemId(itemId);
-        Booking lastBooking = bookingRepository
-                .findLastBooking(itemId, now, Status.APPROVED, PageRequest.of(0, 1))
-                .stream().findFirst().orElse(null);
+        if (ownerId.equals(userId)) {
+            LocalDateTime now = LocalDateTime.now();
+            Booking lastBooking = bookingRepository
+                    .findLastBooking(itemId, now, Status.APPROVED, PageRequest.of(0, 1))
+                    .stream().findFirst().orElse(null);
 
-        Booking nextBooking = bookingRepository
-                .findNextBooking(itemId, now, Status.APPROVED, PageRequest.of(0, 1))
-                .stream().findFirst().orElse(null);
+            Booking nextBooking = bookingRepository
+                    .findNextBooking(itemId, now, Status.APPROVED, PageRequest.of(0, 1))
+                    .stream().findFirst().orElse(null);
 
-        if (item.getOwner().getId().equals(userId)) {
             log.info("Хозяин вещи ID={} запросил вещь ID={}", userId, itemId);
-            return ItemMapper.toItemWithBookingsDto(item,
-                    lastBooking,
-                    nextBooking,
-                    comments
+            ItemWithBookingsDto card = ItemMapper.toItemWithBookingsDto(item,
+                    BookingMapper.toBookingShortDto(lastBooking),
+                    BookingMapper.toBookingShortDto(nextBooking),
+                    firstPage,
+                    commentCount
             );
-
+            itemCardCache.put(itemId, ownerId, true, card, cacheVersion);
+            return card;
         }
         log.info("Пользователь ID={} запросил вещь ID={}", userId, itemId);
-        return ItemMapper.toItemWithBookingsDto(item, null, null, comments);
-
+        ItemWithBookingsDto card = ItemMapper.toItemWithBookingsDto(item, null, null, firstPage, commentCount);
+        itemCardCache.put(itemId, ownerId, false, card, cacheVersion);
+        return card;
     }
 
 
@@ -141,7 +230,7 @@ public class ItemServiceImpl implements ItemService {
             log.error("ID владельца не может быть null, запрос отклонён");
             throw new ConflictException("ID владельца не может быть null");
         }
-        if (!userRepository.existsById(ownerId)) {
+        if (!userExistenceCache.exists(ownerId)) {
             log.error("Владелец ID={}, не найден", ownerId);
             throw new NotFoundException("Владелец ID=" + ownerId + " не найден");
         }
@@ -156,25 +245,16 @@ public class ItemServiceImpl implements ItemService {
                 .map(Item::getId)
                 .toList();
 
-        Map<Long, List<Comment>> commentsByItem = commentRepository.findByItemIds(itemIds)
-                .stream()
-                .collect(Collectors.groupingBy(c -> c.getItem().getId()));
+        Map<Long, List<CommentPreview>> commentsByItem = findCommentPreviews(itemIds);
 
         LocalDateTime now = LocalDateTime.now();
 
-        Map<Long, Booking> lastBookings = bookingRepository.findLastBookings(itemIds, now).stream()
-                .collect(Collectors.toMap(
-                        b -> b.getItem().getId(),
-                        b -> b,
-                        (b1, b2) -> b1 // берём первый, т.к. сортировка DESC
-                ));
-
-        Map<Long, Booking> nextBookings = bookingRepository.findNextBookings(itemIds, now).stream()
-                .collect(Collectors.toMap(
-                        b -> b.getItem().getId(),
-                        b -> b,
-                        (b1, b2) -> b1 // берём первый, т.к. сортировка ASC
-                ));
+        Map<Long, BookingShortDto> lastBookings = new HashMap<>();
+        Map<Long, BookingShortDto> nextBookings = new HashMap<>();
+        for (ItemBookingEdge edge : bookingRepository.findBookingEdges(itemIds, now)) {
+            Map<Long, BookingShortDto> target = ItemBookingEdge.LAST.equals(edge.getKind()) ? lastBookings : nextBookings;
+            target.put(edge.getItemId(), new BookingShortDto(edge.getBookingId(), edge.getBookerId()));
+        }
 
         log.info("Пользователь ID={} запросил список своих вещей ({} шт.)", ownerId, items.size());
         return items.stream()
@@ -182,36 +262,125 @@ public class ItemServiceImpl implements ItemService {
                         item,
                         lastBookings.get(item.getId()),
                         nextBookings.get(item.getId()),
-                        commentsByItem.getOrDefault(item.getId(), List.of())
+                        toCommentDtos(commentsByItem.get(item.getId())),
+                        commentCount(commentsByItem.get(item.getId()))
                 ))
                 .toList();
     }
 
 
     @Override
-    public Collection<ItemDto> searchItems(String text) {
+    public Collection<ItemDto> searchItems(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        if (from < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            log.error("Недопустимая страница поиска: from={}, size={}", from, size);
+            throw new ValidationException("from не может быть меньше 0, размер страницы — от 1 до " + MAX_PAGE_SIZE);
+        }
+        if ((start == null) != (end == null)) {
+            log.error("Период поиска задан не полностью: {} — {}", start, end);
+            throw new ValidationException("Для поиска свободных вещей нужно указать и начало, и окончание периода");
+        }
+        if (start != null && !start.isBefore(end)) {
+            log.error("Некорректный период поиска: {} — {}", start, end);
+            throw new ValidationException("Начало периода должно быть раньше его окончания");
+        }
         if (text == null || text.isBlank()) {
             log.info("Поисковый запрос пустой → возвращаем пустой список");
             return List.of();
         }
 
-        Collection<Item> found = itemRepository.search(text);
+        // комментарии дальше читаются только для вещей этой страницы
+        PageRequest page = PageRequest.of(from / size, size);
+        Collection<Item> found = start == null
+                ? itemSearchEngine.search(text, page)
+                : itemSearchEngine.searchAvailable(text, start, end, page);
         if (found.isEmpty()) {
             return List.of();
         }
 
         List<Long> itemIds = found.stream().map(Item::getId).toList();
 
-        Map<Long, List<Comment>> commentsByItem = commentRepository.findByItemIds(itemIds).stream()
-                .collect(Collectors.groupingBy(c -> c.getItem().getId()));
+        Map<Long, List<CommentPreview>> commentsByItem = findCommentPreviews(itemIds);
 
-        log.info("Поиск по тексту='{}' вернул {} вещей", text, found.size());
+        log.info("Поиск по тексту='{}' (свободны {} — {}, from={}, size={}) вернул {} вещей",
+                text, start, end, from, size, found.size());
         return found.stream()
                 .map(item -> ItemMapper.toItemDto(item,
-                        commentsByItem.getOrDefault(item.getId(), List.of())
+                        toCommentDtos(commentsByItem.get(item.getId())),
+                        commentCount(commentsByItem.get(item.getId()))
                 )).toList();
     }
 
+    // Списки отдают только COMMENT_PREVIEW_SIZE последних комментариев вещи и их общее число,
+    // полный список — в карточке вещи. В поиске это запрос к БД на каждую страницу при любом движке,
+    // включая индекс в памяти: его время входит в p99 searchItems из ItemSearchLatencyLoadTest
+    private Map<Long, List<CommentPreview>> findCommentPreviews(List<Long> itemIds) {
+        return commentRepository.findCommentPreviews(itemIds, COMMENT_PREVIEW_SIZE).stream()
+                .collect(Collectors.groupingBy(CommentPreview::getItemId));
+    }
+
+    private static List<CommentDto> toCommentDtos(List<CommentPreview> previews) {
+        return previews == null ? List.of() : previews.stream().map(CommentMapper::toCommentDto).toList();
+    }
+
+    private static long commentCount(List<CommentPreview> previews) {
+        return previews == null || previews.isEmpty() ? 0 : previews.get(0).getTotal();
+    }
+
+
+    @Override
+    public ItemAvailabilityDto getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (itemId == null) {
+            log.error("ID вещи не может быть null");
+            throw new ConflictException("ID вещи не может быть null");
+        }
+        LocalDateTime periodFrom = from != null ? from : LocalDateTime.now();
+        LocalDateTime periodTo = to != null ? to : periodFrom.plusDays(DEFAULT_AVAILABILITY_DAYS);
+        if (!periodFrom.isBefore(periodTo)) {
+            log.error("Некорректный период занятости: {} — {}", periodFrom, periodTo);
+            throw new ValidationException("Начало периода должно быть раньше его окончания");
+        }
+        if (periodTo.isAfter(periodFrom.plusDays(MAX_AVAILABILITY_DAYS))) {
+            log.error("Слишком длинный период занятости: {} — {}", periodFrom, periodTo);
+            throw new ValidationException("Период не может быть длиннее " + MAX_AVAILABILITY_DAYS + " дней");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Вещь ID=" + itemId + " не найдена");
+        }
+
+        List<AvailabilityIntervalDto> busy = bookingRepository
+                .findBusyIntervals(itemId, Status.APPROVED, periodFrom, periodTo);
+        log.info("Календарь вещи ID={} на {} — {}: {} занятых интервалов", itemId, periodFrom, periodTo, busy.size());
+        return new ItemAvailabilityDto(itemId, periodFrom, periodTo, toCalendar(busy, periodFrom, periodTo));
+    }
+
+    // Занятые интервалы обрезаются по границам периода, смежные склеиваются, промежутки между ними — свободные
+    private static List<AvailabilityIntervalDto> toCalendar(List<AvailabilityIntervalDto> busy,
+                                                            LocalDateTime from, LocalDateTime to) {
+        List<AvailabilityIntervalDto> calendar = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (AvailabilityIntervalDto booking : busy) {
+            LocalDateTime start = booking.getStart().isBefore(cursor) ? cursor : booking.getStart();
+            LocalDateTime end = booking.getEnd().isAfter(to) ? to : booking.getEnd();
+            if (!end.isAfter(start)) {
+                continue;
+            }
+            AvailabilityIntervalDto last = calendar.isEmpty() ? null : calendar.get(calendar.size() - 1);
+            if (start.isAfter(cursor)) {
+                calendar.add(new AvailabilityIntervalDto(cursor, start, true));
+            } else if (last != null && !last.isFree()) {
+                last.setEnd(end);
+                cursor = end;
+                continue;
+            }
+            calendar.add(new AvailabilityIntervalDto(start, end, false));
+            cursor = end;
+        }
+        if (cursor.isBefore(to)) {
+            calendar.add(new AvailabilityIntervalDto(cursor, to, true));
+        }
+        return calendar;
+    }
+
 
     @Override
     @Transactional
@@ -230,6 +399,8 @@ public class ItemServiceImpl implements ItemService {
         }
 
         itemRepository.deleteById(itemId);
+        itemSearchEngine.onItemDeleted(itemId);
+        itemCardCache.evict(itemId);
         log.info("Пользователь ID={} удалил вещь ID={}", ownerId, itemId);
     }
 }
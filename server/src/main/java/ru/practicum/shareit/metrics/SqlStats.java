@@ -0,0 +1,126 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Счётчики SQL одной области: HTTP-запроса (SqlStatsFilter) или вызова в тесте (SqlAssertions).
+// Область привязана к потоку и открывается через begin(); SqlTrackingDataSource пишет в текущую.
+// Области вкладываются: выполнение учитывается во всех открытых, поэтому тест видит SQL запроса через MockMvc.
+// Statement — одно выполнение (execute*, executeBatch — одна пачка), rows — прочитанные строки ResultSet
+// плюс изменённые строки, time — время самих execute*.
+// Одинаковый SQL сводится в одну запись: N+1 выглядит как один SELECT с большим числом выполнений.
+public final class SqlStats implements AutoCloseable {
+    static final int MAX_DISTINCT_SQL = 100;
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private final SqlStats parent;
+    private final Map<String, Sql> bySql = new LinkedHashMap<>();
+    @Getter
+    private int statements;
+    @Getter
+    private long rows;
+    private long nanos;
+
+    private SqlStats(SqlStats parent) {
+        this.parent = parent;
+    }
+
+    public static SqlStats begin() {
+        SqlStats stats = new SqlStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void close() {
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+    }
+
+    public Duration getTime() {
+        return Duration.ofNanos(nanos);
+    }
+
+    // записи по убыванию суммарного времени
+    public List<Sql> getSql() {
+        return bySql.values().stream()
+                .sorted(Comparator.comparingLong(Sql::getNanos).reversed())
+                .toList();
+    }
+
+    public int executions(String sqlFragment) {
+        String fragment = sqlFragment.toLowerCase(Locale.ROOT);
+        return bySql.values().stream()
+                .filter(sql -> sql.getSql().toLowerCase(Locale.ROOT).contains(fragment))
+                .mapToInt(Sql::getExecutions)
+                .sum();
+    }
+
+    public String describe(int limit) {
+        return getSql().stream()
+                .limit(limit)
+                .map(sql -> String.format("  %d × %.1f мс, %d строк: %s",
+                        sql.getExecutions(), sql.getNanos() / 1_000_000.0, sql.getRows(), sql.getSql()))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    void recordExecution(String sql, long rows, long nanos) {
+        for (SqlStats stats = this; stats != null; stats = stats.parent) {
+            stats.statements++;
+            stats.rows += rows;
+            stats.nanos += nanos;
+            Sql entry = stats.entry(sql);
+            if (entry != null) {
+                entry.executions++;
+                entry.rows += rows;
+                entry.nanos += nanos;
+            }
+        }
+    }
+
+    void recordRow(String sql) {
+        for (SqlStats stats = this; stats != null; stats = stats.parent) {
+            stats.rows++;
+            Sql entry = stats.bySql.get(sql);
+            if (entry != null) {
+                entry.rows++;
+            }
+        }
+    }
+
+    // сверх MAX_DISTINCT_SQL разных запросов считаются только итоги: SQL может собираться динамически
+    private Sql entry(String sql) {
+        Sql entry = bySql.get(sql);
+        if (entry == null && bySql.size() < MAX_DISTINCT_SQL) {
+            entry = new Sql(sql);
+            bySql.put(sql, entry);
+        }
+        return entry;
+    }
+
+    @Getter
+    public static final class Sql {
+        private final String sql;
+        private int executions;
+        private long rows;
+        private long nanos;
+
+        private Sql(String sql) {
+            this.sql = sql;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Открывает область SqlStats на каждый HTTP-запрос (регистрируется в SqlTrackingConfig).
+// Итоги запроса пишутся в метрики shareit.sql.statements, shareit.sql.rows и shareit.sql.time
+// с тегами method и uri (шаблон пути),
+// а запрос, превысивший любой из порогов shareit.sql.warn.*, попадает в WARN со списком своих SQL:
+// по числу выполнений одного и того же SELECT сразу виден N+1, по строкам — лишняя выборка.
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_METER = "shareit.sql.statements";
+    public static final String ROWS_METER = "shareit.sql.rows";
+    public static final String TIME_METER = "shareit.sql.time";
+    static final int LOGGED_SQL = 10;
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final long maxRows;
+    private final Duration maxTime;
+
+    public SqlStatsFilter(MeterRegistry meterRegistry, int maxStatements, long maxRows, Duration maxTime) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.maxRows = maxRows;
+        this.maxTime = maxTime;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStats stats = SqlStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            stats.close();
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder(STATEMENTS_METER)
+                .description("Число выполнений SQL за HTTP-запрос")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder(ROWS_METER)
+                .description("Число прочитанных и изменённых строк за HTTP-запрос")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder(TIME_METER)
+                .description("Время выполнения SQL за HTTP-запрос")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getTime());
+
+        List<String> exceeded = new ArrayList<>();
+        if (stats.getStatements() > maxStatements) {
+            exceeded.add("statements > " + maxStatements);
+        }
+        if (stats.getRows() > maxRows) {
+            exceeded.add("rows > " + maxRows);
+        }
+        if (stats.getTime().compareTo(maxTime) > 0) {
+            exceeded.add("time > " + maxTime.toMillis() + " мс");
+        }
+        if (!exceeded.isEmpty()) {
+            log.warn("{} {}: {} SQL, {} строк, {} мс — превышен порог ({}){}{}", request.getMethod(),
+                    request.getRequestURI(), stats.getStatements(), stats.getRows(), stats.getTime().toMillis(),
+                    String.join(", ", exceeded), System.lineSeparator(), stats.describe(LOGGED_SQL));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Учёт SQL за HTTP-запрос: DataSource приложения (и тестовая база @AutoConfigureTestDatabase)
+// заворачивается в SqlTrackingDataSource, а SqlStatsFilter подводит итоги каждого запроса.
+// Отключается shareit.sql.tracking.enabled=false.
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql.tracking.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTrackingConfig {
+
+    // static: постпроцессор создаётся до остальных бинов и не должен тянуть за собой конфигурацию
+    @Bean
+    public static BeanPostProcessor sqlTrackingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlTrackingDataSource)) {
+                    return new SqlTrackingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatsFilter sqlStatsFilter(MeterRegistry meterRegistry,
+                                         @Value("${shareit.sql.warn.statements:20}") int maxStatements,
+                                         @Value("${shareit.sql.warn.rows:5000}") long maxRows,
+                                         @Value("${shareit.sql.warn.time:500ms}") Duration maxTime) {
+        return new SqlStatsFilter(meterRegistry, maxStatements, maxRows, maxTime);
+    }
+}
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Обёртка пула, которая пишет каждое выполнение SQL в текущую область SqlStats.
+// Connection, Statement и ResultSet заворачиваются в JDK-прокси; вне области выполнение идёт напрямую,
+// а ResultSet не заворачивается, поэтому фоновая работа и миграции почти ничего не платят.
+// Наследник DelegatingDataSource: DataSourceUnwrapper, метрики пула и unwrap() видят Hikari под обёрткой.
+public class SqlTrackingDataSource extends DelegatingDataSource {
+
+    public SqlTrackingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, new ConnectionHandler(target));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlTrackingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // DataSourceUtils и пул сравнивают соединения, поэтому у прокси своё равенство
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            Object result = SqlTrackingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class,
+                        new StatementHandler((Statement) result, (Connection) proxy, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class,
+                        new StatementHandler((Statement) result, (Connection) proxy, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class,
+                        new StatementHandler((Statement) result, (Connection) proxy, (String) args[0]));
+                default -> result;
+            };
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final Connection connection;
+        private final String preparedSql;
+        // SQL последнего execute(): по нему getResultSet() считает строки
+        private String executedSql;
+
+        private StatementHandler(Statement target, Connection connection, String preparedSql) {
+            this.target = target;
+            this.connection = connection;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            SqlStats stats = SqlStats.current();
+            if (stats == null) {
+                return SqlTrackingDataSource.invoke(target, method, args);
+            }
+            if (name.equals("getResultSet")) {
+                return resultSet((ResultSet) SqlTrackingDataSource.invoke(target, method, args), stats, executedSql);
+            }
+            if (!name.startsWith("execute")) {
+                return SqlTrackingDataSource.invoke(target, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            if (sql == null) {
+                // executeBatch() у простого Statement с пачкой addBatch(sql)
+                sql = "batch";
+            }
+            long started = System.nanoTime();
+            Object result = null;
+            try {
+                result = SqlTrackingDataSource.invoke(target, method, args);
+                return name.equals("executeQuery") ? resultSet((ResultSet) result, stats, sql) : result;
+            } finally {
+                stats.recordExecution(sql, updatedRows(name, result), System.nanoTime() - started);
+                executedSql = sql;
+            }
+        }
+
+        private long updatedRows(String name, Object result) throws SQLException {
+            return switch (name) {
+                case "executeUpdate", "executeLargeUpdate" -> result == null ? 0 : ((Number) result).longValue();
+                case "executeBatch" -> result == null ? 0 : sum((int[]) result);
+                case "executeLargeBatch" -> result == null ? 0 : sum((long[]) result);
+                case "execute" -> Boolean.FALSE.equals(result) ? Math.max(target.getUpdateCount(), 0) : 0;
+                default -> 0;
+            };
+        }
+
+        // SUCCESS_NO_INFO (-2) драйвер возвращает, когда число строк пачки неизвестно
+        private static long sum(int[] counts) {
+            long rows = 0;
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+
+        private static long sum(long[] counts) {
+            long rows = 0;
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+
+        private static ResultSet resultSet(ResultSet target, SqlStats stats, String sql) {
+            if (target == null) {
+                return null;
+            }
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                Object result = SqlTrackingDataSource.invoke(target, method, args);
+                if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                    stats.recordRow(sql);
+                }
+                return result;
+            });
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// Позиция в ленте, отсортированной по (время DESC, id DESC): бронирования идут по start, комментарии — по created.
+// Передаётся клиенту в виде строки "<время>_<id>" последнего элемента страницы, например 2026-01-01T10:00:00_15,
+// в заголовке X-Next-Cursor или в поле nextCommentsCursor карточки вещи; пустой курсор — первая страница.
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class KeysetCursor {
+    private static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    private static final char SEPARATOR = '_';
+
+    private final LocalDateTime time;
+    private final Long id;
+
+    public static KeysetCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return FIRST;
+        }
+        int separator = value.lastIndexOf(SEPARATOR);
+        try {
+            return new KeysetCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1))
+            );
+        } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+            throw new ValidationException("Некорректный курсор: " + value);
+        }
+    }
+
+    public static String after(LocalDateTime time, Long id) {
+        return time.toString() + SEPARATOR + id;
+    }
+
+}
@@ -2,14 +2,22 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> findByRequesterIdOrderByCreatedDesc(Long requesterId);
+    String SELECT_DTO = "SELECT new ru.practicum.shareit.request.dto.ItemRequestDto(r.id, r.description, r.created) " +
+                        "FROM ItemRequest r ";
 
-    List<ItemRequest> findAllByRequesterIdNotOrderByCreatedDesc(Long requesterId, Pageable page);
+    @Query(SELECT_DTO + "WHERE r.requester.id = :requesterId ORDER BY r.created DESC")
+    List<ItemRequestDto> findRequestDtosByRequesterId(@Param("requesterId") Long requesterId);
+
+    @Query(SELECT_DTO + "WHERE r.requester.id <> :requesterId ORDER BY r.created DESC")
+    List<ItemRequestDto> findRequestDtosByRequesterIdNot(@Param("requesterId") Long requesterId, Pageable page);
 
 }
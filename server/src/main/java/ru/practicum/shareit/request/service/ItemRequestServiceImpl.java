@@ -8,8 +8,6 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.mapper.ItemMapper;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.ItemRequest;
@@ -18,6 +16,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.*;
@@ -30,6 +29,7 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository requestRepository;
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final ItemService itemService;
     private final ItemRepository itemRepository;
 
@@ -41,8 +41,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
             log.error("ID пользователя не может быть null");
             throw new ConflictException("ID пользователя не может быть null");
         }
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователя ID=" + userId + " не найден"));
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователя ID=" + userId + " не найден");
+        }
+        User user = userRepository.getReferenceById(userId);
 
         ItemRequest request = ItemRequestMapper.toItemRequest(dto, user);
         ItemRequest created = requestRepository.save(request);
@@ -59,31 +61,12 @@ public class ItemRequestServiceImpl implements ItemRequestService {
             throw new ConflictException("ID пользователя не может быть null");
         }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь ID=" + userId + " не найден"));
-
-        List<ItemRequest> requests = requestRepository.findByRequesterIdOrderByCreatedDesc(userId);
-
-        if (requests.isEmpty()) {
-            return List.of();
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователь ID=" + userId + " не найден");
         }
 
-        List<Long> requestIds = requests.stream()
-                .map(ItemRequest::getId)
-                .toList();
-
-        List<Item> allItems = itemRepository.findByRequestIdIn(requestIds);
-
-        Map<Long, List<ItemDto>> itemsByRequestId = allItems
-                .stream()
-                .collect(Collectors.groupingBy(
-                        i -> i.getRequest().getId(),
-                        Collectors.mapping(item -> ItemMapper.toItemDto(item, List.of()), Collectors.toList())
-                ));
-        return requests
-                .stream()
-                .map(r -> ItemRequestMapper.toItemRequestDto(r, itemsByRequestId.getOrDefault(r.getId(), List.of())))
-                .toList();
+        List<ItemRequestDto> requests = requestRepository.findRequestDtosByRequesterId(userId);
+        return withItems(requests);
     }
 
 
@@ -94,17 +77,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
             throw new ConflictException("ID пользователя и ID запроса не могут быть null");
         }
 
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь ID=" + userId + " не найден"));
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователь ID=" + userId + " не найден");
+        }
 
         ItemRequest request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Запрос ID=" + requestId + " не найден"));
 
-        List<Item> items = itemRepository.findByRequestIdIn(List.of(requestId));
-
-        List<ItemDto> itemDtos = items.stream()
-                .map(item -> ItemMapper.toItemDto(item, List.of()))
-                .toList();
+        List<ItemDto> itemDtos = itemRepository.findItemDtosByRequestIdIn(List.of(requestId));
 
         log.info("Пользователь ID={} запросил данные о запросе ID={}", userId, requestId);
         return ItemRequestMapper.toItemRequestDto(request, itemDtos);
@@ -117,32 +97,32 @@ public class ItemRequestServiceImpl implements ItemRequestService {
             throw new ConflictException("ID пользователя не может быть null");
         }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь ID=" + userId + " не найден"));
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователь ID=" + userId + " не найден");
+        }
 
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
 
-        List<ItemRequest> requests = requestRepository.findAllByRequesterIdNotOrderByCreatedDesc(userId, page);
+        List<ItemRequestDto> requests = requestRepository.findRequestDtosByRequesterIdNot(userId, page);
+        return withItems(requests);
+    }
+
 
+    // дополняет запросы ответами на них одним запросом к items
+    private List<ItemRequestDto> withItems(List<ItemRequestDto> requests) {
         if (requests.isEmpty()) {
             return List.of();
         }
         List<Long> requestIds = requests
                 .stream()
-                .map(ItemRequest::getId)
+                .map(ItemRequestDto::getId)
                 .toList();
 
-        List<Item> allItems = itemRepository.findByRequestIdIn(requestIds);
-
-        Map<Long, List<ItemDto>> itemsByRequestId = allItems.stream()
-                .collect(Collectors.groupingBy(
-                        i -> i.getRequest().getId(),
-                        Collectors.mapping(item -> ItemMapper.toItemDto(item, List.of()), Collectors.toList())
-                ));
-
-        return requests
+        Map<Long, List<ItemDto>> itemsByRequestId = itemRepository.findItemDtosByRequestIdIn(requestIds)
                 .stream()
-                .map(r -> ItemRequestMapper.toItemRequestDto(r, itemsByRequestId.getOrDefault(r.getId(), List.of())))
-                .toList();
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+
+        requests.forEach(r -> r.setItems(itemsByRequestId.getOrDefault(r.getId(), List.of())));
+        return requests;
     }
 }
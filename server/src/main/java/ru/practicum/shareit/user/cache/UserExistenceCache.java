@@ -0,0 +1,71 @@
+package ru.practicum.shareit.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Проверка существования пользователя из заголовка X-Sharer-User-Id без обращения к БД на каждый запрос.
+// Кэшируются только положительные ответы: отсутствующий ID может появиться в любой момент.
+// Статистика попаданий публикуется в actuator как метрики cache.* с тегом cache=users.
+// Как и в ItemCardCache, ответ кладётся, только если с начала проверки не было evict: иначе ответ,
+// прочитанный до коммита удаления пользователя, жил бы в кэше весь ttl. Удаления редки,
+// поэтому счётчик один на весь кэш.
+@Component
+public class UserExistenceCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> cache;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserExistenceCache(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${shareit.cache.users.max-size:100000}") long maxSize,
+                              @Value("${shareit.cache.users.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public boolean exists(Long userId) {
+        if (cache.getIfPresent(userId) != null) {
+            return true;
+        }
+        long version = evictions.get();
+        boolean exists = userRepository.existsById(userId);
+        if (exists) {
+            cache.asMap().compute(userId, (id, cached) -> evictions.get() == version ? Boolean.TRUE : cached);
+        }
+        return exists;
+    }
+
+    public void evict(Long userId) {
+        invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private void invalidate(Long userId) {
+        evictions.incrementAndGet();
+        cache.invalidate(userId);
+    }
+
+}
@@ -6,7 +6,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.cache.ItemCardCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
@@ -23,6 +26,9 @@ import java.util.Collection;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemCardCache itemCardCache;
+    private final UserExistenceCache userExistenceCache;
 
 
     @Override
@@ -76,6 +82,11 @@ public class UserServiceImpl implements UserService {
             throw new NotFoundException("Пользователь с ID=" + userId + " не найден");
         }
         userRepository.deleteById(userId);
+        userExistenceCache.evict(userId);
+        // вещи пользователя удаляются каскадом в БД
+        itemSearchEngine.onOwnerDeleted(userId);
+        // удалены и вещи, и бронирования, и комментарии пользователя — проще сбросить все карточки
+        itemCardCache.evictAll();
         log.info("Удалён пользователь ID={}", userId);
     }
 
@@ -94,6 +105,10 @@ public class UserServiceImpl implements UserService {
 
         userMapper.updateUser(user, userUpdateDto);
         User updated = userRepository.save(user);
+        if (userUpdateDto.getName() != null) {
+            // имя автора входит в комментарии карточек вещей
+            itemCardCache.evictAll();
+        }
         log.info("Обновлён пользователь ID={}", updated.getId());
 
         return userMapper.toUserDto(updated);
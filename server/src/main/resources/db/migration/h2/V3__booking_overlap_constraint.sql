@@ -0,0 +1,3 @@
+-- в H2 нет EXCLUDE-ограничений: пересечение подтверждённых бронирований проверяет только сервис
+-- под блокировкой строки вещи (см. postgresql/V3__booking_overlap_constraint.sql)
+SELECT 1;
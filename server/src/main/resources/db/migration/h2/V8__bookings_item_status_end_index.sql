@@ -0,0 +1,4 @@
+-- то же, что V8 PostgreSQL; запросы ix_bookings_item_start_approved здесь обслуживает новый индекс
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_start_end ON bookings (item_id, status, start_date, end_date);
+
+DROP INDEX IF EXISTS ix_bookings_item_status_start;
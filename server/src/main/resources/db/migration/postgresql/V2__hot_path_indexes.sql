@@ -0,0 +1,20 @@
+-- бронирования пользователя: WHERE booker_id = ? ORDER BY start_date DESC, id DESC (keyset)
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+-- бронирования владельца: items(owner_id) -> bookings(item_id) ORDER BY start_date DESC, id DESC
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+
+-- проверка права на комментарий: item_id, status, end_date < now
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+-- last/next booking считаются только по подтверждённым бронированиям
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start_approved ON bookings (item_id, start_date) WHERE status = 'APPROVED';
+
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS ix_items_request ON items (request_id) WHERE request_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS ix_comments_item ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS ix_requests_requester_created ON requests (requester_id, created DESC);
+-- чужие запросы: WHERE requester_id <> ? ORDER BY created DESC LIMIT ?
+CREATE INDEX IF NOT EXISTS ix_requests_created ON requests (created DESC);
@@ -0,0 +1,7 @@
+-- подтверждённые бронирования одной вещи не пересекаются по времени [start_date, end_date);
+-- сервис проверяет это под блокировкой строки вещи, ограничение страхует от обхода этой проверки
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_approved_overlap
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date, '[)') WITH &&)
+    WHERE (status = 'APPROVED');
@@ -0,0 +1,6 @@
+-- лента комментариев вещи: WHERE item_id = ? ORDER BY created DESC, id DESC (keyset);
+-- первые страницы ленты и превью в списках читаются из начала индекса без сортировки.
+-- Индекс покрывает и поиск по одному item_id, поэтому ix_comments_item больше не нужен
+CREATE INDEX IF NOT EXISTS ix_comments_item_created ON comments (item_id, created DESC, id DESC);
+
+DROP INDEX IF EXISTS ix_comments_item;
@@ -0,0 +1,9 @@
+-- id вещей выдаёт последовательность с шагом 50: Hibernate резервирует блок id одним nextval
+-- (оптимизатор pooled-lo) и может отправлять INSERT пачками, что невозможно с IDENTITY.
+-- DEFAULT оставлен для вставок в обход приложения
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50 OWNED BY items.id;
+SELECT setval('items_seq', COALESCE((SELECT MAX(id) FROM items), 0) + 1, false);
+
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
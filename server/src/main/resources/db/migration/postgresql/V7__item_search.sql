@@ -0,0 +1,12 @@
+-- полнотекстовый поиск вещей (PostgresItemSearchEngine): раньше эти объекты лежали в V1,
+-- но базы со старым schema.sql помечаются baseline-версией 1 и V1 на них не выполняется.
+-- Всё через IF NOT EXISTS: базы, где поиск уже создан прежней V1, проходят миграцию без изменений.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', name || ' ' || description)) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_items_search_vector ON items USING gin (search_vector) WHERE available;
+CREATE INDEX IF NOT EXISTS ix_items_name_trgm ON items USING gin (name gin_trgm_ops) WHERE available;
+CREATE INDEX IF NOT EXISTS ix_items_description_trgm ON items USING gin (description gin_trgm_ops) WHERE available;
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Без @Transactional: каждое подтверждение коммитится в своём потоке, как в проде.
+// Много арендаторов претендуют на одну популярную вещь: на каждый слот по BOOKERS_PER_SLOT заявок,
+// владелец подтверждает все заявки параллельно — подтвердиться должна ровно одна заявка на слот.
+// На H2 миграция V3 — заглушка, поэтому тест проверяет только блокировку строки вещи в сервисе;
+// EXCLUDE-ограничение PostgreSQL проверяется в PostgresMigrationTest, скорость — в BookingApprovalContentionLoadTest.
+@SpringBootTest
+@AutoConfigureTestDatabase
+class BookingApprovalConcurrencyTest {
+
+    private static final int SLOTS = 4;
+    private static final int BOOKERS_PER_SLOT = 16;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private final List<Long> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "owner@mail.com"));
+        Item item = itemRepository.save(new Item(null, "Popular", "Everybody wants it", owner, true, null));
+
+        LocalDateTime firstSlot = LocalDateTime.now().plusDays(1);
+        for (int b = 0; b < BOOKERS_PER_SLOT; b++) {
+            User booker = userRepository.save(new User(null, "Booker" + b, "booker" + b + "@mail.com"));
+            for (int slot = 0; slot < SLOTS; slot++) {
+                // соседние слоты касаются границами [start, end) и не пересекаются
+                LocalDateTime start = firstSlot.plusHours(slot);
+                bookingIds.add(bookingService.createBooking(booker.getId(),
+                        new BookingCreateDto(start, start.plusHours(1), item.getId())).getId());
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Параллельные подтверждения — на каждый слот подтверждается ровно одно бронирование")
+    void concurrentApprovals_shouldApproveOneBookingPerSlot() throws Exception {
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Long bookingId : bookingIds) {
+                results.add(executor.submit(() -> {
+                    startGate.await();
+                    try {
+                        bookingService.updateBooking(owner.getId(), bookingId, true);
+                        return true;
+                    } catch (ConflictException e) {
+                        return false;
+                    }
+                }));
+            }
+
+            startGate.countDown();
+            long approved = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    approved++;
+                }
+            }
+
+            assertThat(approved).isEqualTo(SLOTS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Booking> approvedBookings = bookingRepository.findAll().stream()
+                .filter(b -> b.getStatus() == Status.APPROVED)
+                .toList();
+        assertThat(approvedBookings).hasSize(SLOTS);
+        assertThat(approvedBookings).extracting(Booking::getStart).doesNotHaveDuplicates();
+    }
+}
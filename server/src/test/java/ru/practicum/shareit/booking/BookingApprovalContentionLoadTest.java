@@ -0,0 +1,143 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Конкуренция за одну популярную вещь: BOOKERS арендаторов бронируют каждый из SLOTS слотов,
+// владелец подтверждает все заявки из THREADS потоков. Все подтверждения одной вещи идут по очереди
+// через блокировку строки вещи (ItemRepository.findByIdForUpdate), тест меряет, во что обходится эта очередь:
+// обработанных заявок в секунду и перцентили времени одного updateBooking (и успешного, и отклонённого как пересечение).
+// База — H2, где V3 только заглушка: пересечения исключает одна блокировка, EXCLUDE-ограничение PostgreSQL
+// здесь не участвует (его проверяет PostgresMigrationTest).
+// Запуск: mvn -pl server test -Pload-test -Dtest=BookingApprovalContentionLoadTest
+@Slf4j
+@Tag("load")
+@SpringBootTest(properties = "logging.level.ru.practicum.shareit.booking.service=WARN")
+@AutoConfigureTestDatabase
+class BookingApprovalContentionLoadTest {
+
+    private static final int SLOTS = 100;
+    private static final int BOOKERS = 20;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private final List<Long> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "contention-owner@mail.com"));
+        Item item = itemRepository.save(new Item(null, "Popular", "Everybody wants it", owner, true, null));
+
+        LocalDateTime firstSlot = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>(SLOTS * BOOKERS);
+        for (int b = 0; b < BOOKERS; b++) {
+            User booker = userRepository.save(new User(null, "Booker" + b, "contention" + b + "@mail.com"));
+            for (int slot = 0; slot < SLOTS; slot++) {
+                LocalDateTime start = firstSlot.plusHours(slot);
+                bookings.add(new Booking(null, start, start.plusHours(1), item, booker, Status.WAITING));
+            }
+        }
+        bookingRepository.saveAll(bookings).forEach(booking -> bookingIds.add(booking.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Подтверждения заявок на одну вещь — пропускная способность и задержки под блокировкой строки")
+    void approvals_underContention() throws Exception {
+        long[] latencies = new long[bookingIds.size()];
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>(bookingIds.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long elapsed;
+        long approved = 0;
+        try {
+            for (int i = 0; i < bookingIds.size(); i++) {
+                int index = i;
+                Long bookingId = bookingIds.get(i);
+                results.add(executor.submit(() -> {
+                    startGate.await();
+                    long started = System.nanoTime();
+                    try {
+                        bookingService.updateBooking(owner.getId(), bookingId, true);
+                        return true;
+                    } catch (ConflictException e) {
+                        return false;
+                    } finally {
+                        latencies[index] = System.nanoTime() - started;
+                    }
+                }));
+            }
+
+            long started = System.nanoTime();
+            startGate.countDown();
+            for (Future<Boolean> result : results) {
+                if (result.get(2, TimeUnit.MINUTES)) {
+                    approved++;
+                }
+            }
+            elapsed = System.nanoTime() - started;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Arrays.sort(latencies);
+        log.info("Подтверждения на одну вещь: {} заявок, {} потоков, подтверждено {}, {} мс, {} заявок/с; "
+                        + "updateBooking p50={} мс, p90={} мс, p99={} мс, max={} мс",
+                latencies.length, THREADS, approved, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                latencies.length * TimeUnit.SECONDS.toNanos(1) / elapsed,
+                millis(latencies, 0.5), millis(latencies, 0.9), millis(latencies, 0.99),
+                millis(latencies, 1.0));
+
+        assertThat(approved).isEqualTo(SLOTS);
+    }
+
+    private static String millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return "%.2f".formatted(sorted[Math.max(index, 0)] / 1_000_000.0);
+    }
+}
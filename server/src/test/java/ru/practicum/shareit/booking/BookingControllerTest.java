@@ -133,7 +133,7 @@ class BookingControllerTest {
                         new BookerDto(1L), new ItemShortDto(6L, "Item2"))
         );
 
-        when(bookingService.getUserBookings(anyLong(), any()))
+        when(bookingService.getUserBookings(anyLong(), any(), any(), anyInt()))
                 .thenReturn(bookings);
 
         mockMvc.perform(get("/bookings")
@@ -155,7 +155,7 @@ class BookingControllerTest {
                         new BookerDto(4L), new ItemShortDto(9L, "Item1"))
         );
 
-        when(bookingService.getOwnerBookings(anyLong(), any()))
+        when(bookingService.getOwnerBookings(anyLong(), any(), any(), anyInt()))
                 .thenReturn(bookings);
 
         mockMvc.perform(get("/bookings/owner")
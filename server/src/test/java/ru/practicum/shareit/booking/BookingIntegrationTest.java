@@ -10,6 +10,7 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.ConflictException;
@@ -18,6 +19,8 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -45,6 +48,9 @@ class BookingIntegrationTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private ItemService itemService;
+
     private User owner;
     private User booker;
     private Item item;
@@ -178,6 +184,22 @@ class BookingIntegrationTest {
     }
 
 
+    @Test
+    @DisplayName("updateBooking — подтверждение сбрасывает закэшированную карточку вещи владельца")
+    void updateBooking_shouldEvictOwnerItemCard() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto created = bookingService.createBooking(booker.getId(),
+                new BookingCreateDto(start, start.plusHours(1), item.getId()));
+
+        assertThat(itemService.getItemById(owner.getId(), item.getId()).getNextBooking()).isNull();
+
+        bookingService.updateBooking(owner.getId(), created.getId(), true);
+
+        assertThat(itemService.getItemById(owner.getId(), item.getId()).getNextBooking())
+                .isEqualTo(new BookingShortDto(created.getId(), booker.getId()));
+        assertThat(itemService.getItemById(booker.getId(), item.getId()).getNextBooking()).isNull();
+    }
+
     @Test
     @DisplayName("getUserBookings — возвращает список всех бронирований (ALL)")
     void getUserBookings_shouldReturnAll() {
@@ -185,7 +207,7 @@ class BookingIntegrationTest {
         LocalDateTime end = start.plusHours(1);
         bookingService.createBooking(booker.getId(), new BookingCreateDto(start, end, item.getId()));
 
-        List<BookingDto> list = bookingService.getUserBookings(booker.getId(), "ALL");
+        List<BookingDto> list = bookingService.getUserBookings(booker.getId(), "ALL", null, 10);
         assertThat(list).hasSize(1);
         assertThat(list.get(0).getStatus()).isEqualTo(Status.WAITING);
     }
@@ -198,15 +220,49 @@ class BookingIntegrationTest {
         LocalDateTime end = start.plusHours(1);
         bookingService.createBooking(booker.getId(), new BookingCreateDto(start, end, item.getId()));
 
-        List<BookingDto> list = bookingService.getOwnerBookings(owner.getId(), "ALL");
+        List<BookingDto> list = bookingService.getOwnerBookings(owner.getId(), "ALL", null, 10);
         assertThat(list).hasSize(1);
         assertThat(list.get(0).getItem().getId()).isEqualTo(item.getId());
     }
 
+    @Test
+    @DisplayName("getUserBookings — постраничный обход по курсору без пропусков и повторов")
+    void getUserBookings_shouldPageByCursor() {
+        LocalDateTime sameStart = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < 5; i++) {
+            LocalDateTime start = i < 3 ? sameStart : sameStart.plusHours(i);
+            bookingRepository.save(new Booking(null, start, start.plusHours(1), item, booker, Status.WAITING));
+        }
+
+        List<BookingDto> all = bookingService.getUserBookings(booker.getId(), "ALL", null, 10);
+        List<BookingDto> firstPage = bookingService.getUserBookings(booker.getId(), "ALL", null, 2);
+        List<BookingDto> secondPage = bookingService.getUserBookings(booker.getId(), "ALL",
+                KeysetCursor.after(firstPage.get(1).getStart(), firstPage.get(1).getId()), 2);
+        List<BookingDto> lastPage = bookingService.getUserBookings(booker.getId(), "ALL",
+                KeysetCursor.after(secondPage.get(1).getStart(), secondPage.get(1).getId()), 2);
+
+        assertThat(all).hasSize(5);
+        assertThat(firstPage).extracting(BookingDto::getId)
+                .containsExactly(all.get(0).getId(), all.get(1).getId());
+        assertThat(secondPage).extracting(BookingDto::getId)
+                .containsExactly(all.get(2).getId(), all.get(3).getId());
+        assertThat(lastPage).extracting(BookingDto::getId)
+                .containsExactly(all.get(4).getId());
+    }
+
+    @Test
+    @DisplayName("getUserBookings — ошибка при некорректном курсоре или размере страницы")
+    void getUserBookings_shouldThrowWhenPagingInvalid() {
+        assertThrows(ValidationException.class,
+                () -> bookingService.getUserBookings(booker.getId(), "ALL", "abc", 10));
+        assertThrows(ValidationException.class,
+                () -> bookingService.getUserBookings(booker.getId(), "ALL", null, 1001));
+    }
+
     @Test
     @DisplayName("getOwnerBookings — ошибка если владелец не найден")
     void getOwnerBookings_shouldThrowWhenOwnerNotFound() {
         assertThrows(NotFoundException.class,
-                () -> bookingService.getOwnerBookings(999L, "ALL"));
+                () -> bookingService.getOwnerBookings(999L, "ALL", null, 10));
     }
 }
\ No newline at end of file
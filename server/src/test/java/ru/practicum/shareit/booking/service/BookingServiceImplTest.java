@@ -7,18 +7,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCardCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 import org.junit.jupiter.api.Nested;
 
@@ -36,9 +40,13 @@ class BookingServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserExistenceCache userExistenceCache;
+    @Mock
     private ItemRepository itemRepository;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private ItemCardCache itemCardCache;
 
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -74,7 +82,8 @@ class BookingServiceImplTest {
     void createBooking_shouldCreateSuccessfully() {
         BookingCreateDto dto = new BookingCreateDto(start, end, item.getId());
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
 
@@ -86,6 +95,23 @@ class BookingServiceImplTest {
     }
 
 
+    @Test
+    @DisplayName("createBooking — бросает ConflictException, если вещь уже забронирована на эти даты")
+    void createBooking_shouldThrow_whenOverlapsApprovedBooking() {
+        BookingCreateDto dto = new BookingCreateDto(start, end, item.getId());
+
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(item.getId(), Status.APPROVED, end, start))
+                .thenReturn(true);
+
+        assertThatThrownBy(() -> bookingService.createBooking(user.getId(), dto))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("уже забронирована");
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     @DisplayName("createBooking — бросает ValidationException, если start после end")
     void createBooking_shouldThrow_whenStartAfterEnd() {
@@ -115,7 +141,8 @@ class BookingServiceImplTest {
         BookingCreateDto dto = new BookingCreateDto(start, end, item.getId());
         item.setOwner(user); // тот же владелец
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.createBooking(user.getId(), dto))
@@ -129,7 +156,8 @@ class BookingServiceImplTest {
         item.setAvailable(false);
         BookingCreateDto dto = new BookingCreateDto(start, end, item.getId());
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.createBooking(user.getId(), dto))
@@ -160,7 +188,7 @@ class BookingServiceImplTest {
     @DisplayName("updateBooking — владелец подтверждает бронирование")
     void updateBooking_shouldApprove() {
         booking.setStatus(Status.WAITING);
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemById(booking.getId())).thenReturn(Optional.of(booking));
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
 
         BookingDto result = bookingService.updateBooking(owner.getId(), booking.getId(), true);
@@ -172,7 +200,7 @@ class BookingServiceImplTest {
     @Test
     @DisplayName("updateBooking — бросает ForbiddenException, если не владелец")
     void updateBooking_shouldThrow_whenNotOwner() {
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemById(booking.getId())).thenReturn(Optional.of(booking));
 
         assertThatThrownBy(() -> bookingService.updateBooking(999L, booking.getId(), true))
                 .isInstanceOf(ForbiddenException.class)
@@ -183,13 +211,27 @@ class BookingServiceImplTest {
     @DisplayName("updateBooking — бросает ConflictException, если уже APPROVED")
     void updateBooking_shouldThrow_whenAlreadyApproved() {
         booking.setStatus(Status.APPROVED);
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemById(booking.getId())).thenReturn(Optional.of(booking));
 
         assertThatThrownBy(() -> bookingService.updateBooking(owner.getId(), booking.getId(), true))
                 .isInstanceOf(ConflictException.class)
                 .hasMessageContaining("уже подтверждено");
     }
 
+    @Test
+    @DisplayName("updateBooking — подтверждение под блокировкой вещи отклоняется при пересечении")
+    void updateBooking_shouldThrow_whenApprovalOverlaps() {
+        when(bookingRepository.findWithItemById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(item.getId(), Status.APPROVED, end, start))
+                .thenReturn(true);
+
+        assertThatThrownBy(() -> bookingService.updateBooking(owner.getId(), booking.getId(), true))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("уже забронирована");
+        verify(itemRepository).findByIdForUpdate(item.getId());
+        assertThat(booking.getStatus()).isEqualTo(Status.WAITING);
+    }
+
     @Test
     @DisplayName("updateBooking — бросает ConflictException, если ownerId или bookingId null")
     void updateBooking_shouldThrow_whenIdsNull() {
@@ -202,8 +244,8 @@ class BookingServiceImplTest {
     @Test
     @DisplayName("getBookingById — возвращает DTO, если запрос от владельца")
     void getBookingById_shouldReturn_whenOwnerOrBooker() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(userExistenceCache.exists(owner.getId())).thenReturn(true);
+        when(bookingRepository.findWithItemById(booking.getId())).thenReturn(Optional.of(booking));
 
         BookingDto dto = bookingService.getBookingById(owner.getId(), booking.getId());
 
@@ -214,8 +256,8 @@ class BookingServiceImplTest {
     @Test
     @DisplayName("getBookingById — бросает ForbiddenException, если чужой пользователь")
     void getBookingById_shouldThrow_whenNotRelatedUser() {
-        when(userRepository.findById(999L)).thenReturn(Optional.of(new User(999L, "Other", "other@mail.ru")));
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(userExistenceCache.exists(999L)).thenReturn(true);
+        when(bookingRepository.findWithItemById(booking.getId())).thenReturn(Optional.of(booking));
 
         assertThatThrownBy(() -> bookingService.getBookingById(999L, booking.getId()))
                 .isInstanceOf(ForbiddenException.class)
@@ -229,65 +271,87 @@ class BookingServiceImplTest {
 
         @BeforeEach
         void setupUser() {
-            when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+            when(userExistenceCache.exists(user.getId())).thenReturn(true);
         }
 
         @Test
         void shouldReturnAll_whenStateAll() {
-            when(bookingRepository.findByBookerIdOrderByStartDesc(user.getId()))
-                    .thenReturn(List.of(booking));
+            when(bookingRepository.findBookerBookings(eq(user.getId()), any(), any(), any()))
+                    .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
 
-            List<BookingDto> result = bookingService.getUserBookings(user.getId(), "ALL");
+            List<BookingDto> result = bookingService.getUserBookings(user.getId(), "ALL", null, 10);
             assertThat(result).hasSize(1);
         }
 
         @Test
         void shouldReturnWaiting_whenStateWaiting() {
-            when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(user.getId(), Status.WAITING))
-                    .thenReturn(List.of(booking));
+            when(bookingRepository.findBookerBookingsByStatus(eq(user.getId()), eq(Status.WAITING), any(), any(), any()))
+                    .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
 
-            List<BookingDto> result = bookingService.getUserBookings(user.getId(), "WAITING");
+            List<BookingDto> result = bookingService.getUserBookings(user.getId(), "WAITING", null, 10);
             assertThat(result).hasSize(1);
         }
 
         @Test
         void shouldThrow_whenUserNotFound() {
-            when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+            when(userExistenceCache.exists(user.getId())).thenReturn(false);
 
-            assertThatThrownBy(() -> bookingService.getUserBookings(user.getId(), "ALL"))
+            assertThatThrownBy(() -> bookingService.getUserBookings(user.getId(), "ALL", null, 10))
                     .isInstanceOf(NotFoundException.class);
         }
 
 
         @Test
         void shouldReturnCurrentBookings() {
-            when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(eq(user.getId()), any(), any()))
-                    .thenReturn(List.of(booking));
-            List<BookingDto> result = bookingService.getUserBookings(user.getId(), "CURRENT");
+            when(bookingRepository.findBookerCurrentBookings(eq(user.getId()), any(), any(), any(), any()))
+                    .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
+            List<BookingDto> result = bookingService.getUserBookings(user.getId(), "CURRENT", null, 10);
             assertThat(result).hasSize(1);
         }
 
         @Test
         void shouldReturnPastBookings() {
-            when(bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(eq(user.getId()), any()))
-                    .thenReturn(List.of(booking));
-            List<BookingDto> result = bookingService.getUserBookings(user.getId(), "PAST");
+            when(bookingRepository.findBookerPastBookings(eq(user.getId()), any(), any(), any(), any()))
+                    .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
+            List<BookingDto> result = bookingService.getUserBookings(user.getId(), "PAST", null, 10);
             assertThat(result).hasSize(1);
         }
 
         @Test
         void shouldReturnFutureBookings() {
-            when(bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(eq(user.getId()), any()))
-                    .thenReturn(List.of(booking));
-            List<BookingDto> result = bookingService.getUserBookings(user.getId(), "FUTURE");
+            when(bookingRepository.findBookerFutureBookings(eq(user.getId()), any(), any(), any(), any()))
+                    .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
+            List<BookingDto> result = bookingService.getUserBookings(user.getId(), "FUTURE", null, 10);
+            assertThat(result).hasSize(1);
+        }
+
+        @Test
+        void shouldPassCursorAndPageSizeToRepository() {
+            LocalDateTime cursorStart = LocalDateTime.of(2030, 1, 1, 12, 0);
+            when(bookingRepository.findBookerBookings(user.getId(), cursorStart, 7L, PageRequest.of(0, 5)))
+                    .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
+
+            List<BookingDto> result = bookingService.getUserBookings(user.getId(), "ALL", "2030-01-01T12:00_7", 5);
             assertThat(result).hasSize(1);
         }
 
+        @Test
+        void shouldThrow_whenCursorInvalid() {
+            assertThatThrownBy(() -> bookingService.getUserBookings(user.getId(), "ALL", "yesterday", 5))
+                    .isInstanceOf(ValidationException.class);
+        }
+
+        @Test
+        void shouldThrow_whenPageSizeOutOfRange() {
+            assertThatThrownBy(() -> bookingService.getUserBookings(user.getId(), "ALL", null, 0))
+                    .isInstanceOf(ValidationException.class);
+        }
+
         @Test
         void shouldReturnRejectedBookings() {
-            when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(user.getId(), Status.REJECTED))
-                    .thenReturn(List.of(booking));
-            List<BookingDto> result = bookingService.getUserBookings(user.getId(), "REJECTED");
+            when(bookingRepository.findBookerBookingsByStatus(eq(user.getId()), eq(Status.REJECTED), any(), any(), any()))
+                    .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
+            List<BookingDto> result = bookingService.getUserBookings(user.getId(), "REJECTED", null, 10);
             assertThat(result).hasSize(1);
         }
 
@@ -298,46 +362,46 @@ class BookingServiceImplTest {
 
         @BeforeEach
         void setupOwner() {
-            when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+            when(userExistenceCache.exists(owner.getId())).thenReturn(true);
         }
 
         @Test
         void shouldReturnCurrentBookingsForOwner() {
-            when(bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(eq(owner.getId()), any(), any()))
-                    .thenReturn(List.of(booking));
-            List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), "CURRENT");
+            when(bookingRepository.findOwnerCurrentBookings(eq(owner.getId()), any(), any(), any(), any()))
+                    .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
+            List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), "CURRENT", null, 10);
             assertThat(result).hasSize(1);
         }
 
         @Test
         void shouldReturnPastBookingsForOwner() {
-            when(bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(eq(owner.getId()), any()))
-                    .thenReturn(List.of(booking));
-            List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), "PAST");
+            when(bookingRepository.findOwnerPastBookings(eq(owner.getId()), any(), any(), any(), any()))
+                    .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
+            List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), "PAST", null, 10);
             assertThat(result).hasSize(1);
         }
 
         @Test
         void shouldReturnFutureBookingsForOwner() {
-            when(bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(eq(owner.getId()), any()))
-                    .thenReturn(List.of(booking));
-            List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), "FUTURE");
+            when(bookingRepository.findOwnerFutureBookings(eq(owner.getId()), any(), any(), any(), any()))
+                    .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
+            List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), "FUTURE", null, 10);
             assertThat(result).hasSize(1);
         }
 
         @Test
         void shouldReturnWaitingBookingsForOwner() {
-            when(bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(owner.getId(), Status.WAITING))
-                    .thenReturn(List.of(booking));
-            List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), "WAITING");
+            when(bookingRepository.findOwnerBookingsByStatus(eq(owner.getId()), eq(Status.WAITING), any(), any(), any()))
+                    .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
+            List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), "WAITING", null, 10);
             assertThat(result).hasSize(1);
         }
 
         @Test
         void shouldReturnRejectedBookingsForOwner() {
-            when(bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(owner.getId(), Status.REJECTED))
-                    .thenReturn(List.of(booking));
-            List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), "REJECTED");
+            when(bookingRepository.findOwnerBookingsByStatus(eq(owner.getId()), eq(Status.REJECTED), any(), any(), any()))
+                    .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
+            List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), "REJECTED", null, 10);
             assertThat(result).hasSize(1);
         }
 
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.db;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Пакетная вставка бронирований и комментариев: id берутся из последовательностей блоками по 50,
+// поэтому на N строк уходит около N / 50 вызовов nextval и один INSERT, отправляемый пачками,
+// а не N отдельных INSERT ... RETURNING id, как с IDENTITY.
+// Число SQL проверяется в обычной сборке на BATCH_ROWS строках, скорость вставки LOAD_ROWS строк
+// в каждую таблицу — нагрузочным тестом: mvn -pl server test -Pload-test
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase
+@Transactional
+class BatchInsertThroughputTest {
+
+    private static final int BATCH_ROWS = 500;
+    private static final int LOAD_ROWS = 5000;
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private Statistics statistics;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        User owner = new User(null, "Owner", "owner@mail.com");
+        booker = new User(null, "Booker", "booker@mail.com");
+        item = new Item(null, "Drill", "Power drill", owner, true, null);
+        entityManager.persist(owner);
+        entityManager.persist(booker);
+        entityManager.persist(item);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Бронирования сохраняются пачками — число SQL-запросов не растёт с числом строк")
+    void bookings_shouldBeInsertedInBatches() {
+        List<Booking> bookings = bookings(BATCH_ROWS);
+
+        insert(() -> bookingRepository.saveAll(bookings));
+
+        assertBatched(BATCH_ROWS);
+    }
+
+    @Test
+    @DisplayName("Комментарии сохраняются пачками — число SQL-запросов не растёт с числом строк")
+    void comments_shouldBeInsertedInBatches() {
+        List<Comment> comments = comments(BATCH_ROWS);
+
+        insert(() -> commentRepository.saveAll(comments));
+
+        assertBatched(BATCH_ROWS);
+    }
+
+    @Test
+    @Tag("load")
+    @DisplayName("Скорость пакетной вставки бронирований и комментариев")
+    void batchInsert_throughput() {
+        List<Booking> bookings = bookings(LOAD_ROWS);
+        List<Comment> comments = comments(LOAD_ROWS);
+
+        measure("bookings", () -> bookingRepository.saveAll(bookings));
+        measure("comments", () -> commentRepository.saveAll(comments));
+    }
+
+    private void measure(String table, Runnable insertion) {
+        long elapsedMillis = insert(insertion);
+        log.info("Пакетная вставка: {} строк в {}, {} SQL, {} мс, {} строк/с", LOAD_ROWS, table,
+                statistics.getPrepareStatementCount(), elapsedMillis, LOAD_ROWS * 1000 / Math.max(elapsedMillis, 1));
+        assertBatched(LOAD_ROWS);
+    }
+
+    private long insert(Runnable insertion) {
+        statistics.clear();
+        long started = System.nanoTime();
+        insertion.run();
+        entityManager.flush();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+
+    private void assertBatched(int rows) {
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(rows);
+        // nextval на каждый блок id (плюс, возможно, блок, начатый в setUp) и один INSERT на все пачки
+        assertThat(statistics.getPrepareStatementCount())
+                .as("Число SQL-запросов")
+                .isLessThanOrEqualTo(rows / ALLOCATION_SIZE + 2);
+    }
+
+    private List<Booking> bookings(int rows) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            bookings.add(new Booking(null, start.plusHours(i), start.plusHours(i + 1), item, booker, Status.WAITING));
+        }
+        return bookings;
+    }
+
+    private List<Comment> comments(int rows) {
+        LocalDateTime created = LocalDateTime.now().minusDays(1);
+        List<Comment> comments = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            comments.add(new Comment(null, "Отзыв " + i, created.plusSeconds(i), item, booker));
+        }
+        return comments;
+    }
+}
@@ -0,0 +1,133 @@
+package ru.practicum.shareit.db;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.metrics.SqlStats;
+import ru.practicum.shareit.metrics.SqlStatsFilter;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.metrics.SqlAssertions.assertStatements;
+
+// Число SQL, которое выполняет каждый эндпоинт целиком: контроллер, сервис, nextval и пачки INSERT.
+// Считается на уровне JDBC (SqlTrackingDataSource), поэтому лишний запрос здесь — N+1, забытый fetch
+// или повторная проверка существования, которые не видны в тестах отдельных сервисов.
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@Transactional
+class EndpointStatementCountTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking futureBooking;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        owner = persist(new User(null, "Owner", "sql-owner@mail.com"));
+        booker = persist(new User(null, "Booker", "sql-booker@mail.com"));
+        item = persist(new Item(null, "Drill", "Power drill", owner, true, null));
+        persist(new Item(null, "Saw", "Hand saw", owner, true, null));
+        persist(new Booking(null, now.minusDays(2), now.minusDays(1), item, booker, Status.APPROVED));
+        futureBooking = persist(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker, Status.WAITING));
+        persist(new Comment(null, "Отличная дрель", now.minusHours(12), item, booker));
+
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Бронирования — число SQL на чтение, создание и подтверждение")
+    void bookingEndpoints_statementCounts() throws Exception {
+        assertStatements(2, () -> perform(get("/bookings/{id}", futureBooking.getId())
+                .header(USER_HEADER, booker.getId())));
+        // существование booker уже закэшировано предыдущим запросом
+        assertStatements(1, () -> perform(get("/bookings").param("state", "ALL")
+                .header(USER_HEADER, booker.getId())));
+        assertStatements(2, () -> perform(get("/bookings/owner").param("state", "FUTURE")
+                .header(USER_HEADER, owner.getId())));
+        assertStatements(4, () -> perform(patch("/bookings/{id}", futureBooking.getId()).param("approved", "true")
+                .header(USER_HEADER, owner.getId())));
+        assertStatements(3, () -> perform(post("/bookings")
+                .header(USER_HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"itemId": %d, "start": "%s", "end": "%s"}""".formatted(item.getId(),
+                        LocalDateTime.now().plusDays(5).withNano(0), LocalDateTime.now().plusDays(6).withNano(0)))));
+    }
+
+    @Test
+    @DisplayName("Вещи — число SQL на карточку, список владельца и комментарии")
+    void itemEndpoints_statementCounts() throws Exception {
+        assertStatements(4, () -> perform(get("/items/{id}", item.getId()).header(USER_HEADER, owner.getId())));
+        // вторая карточка — из кэша
+        assertStatements(0, () -> perform(get("/items/{id}", item.getId()).header(USER_HEADER, owner.getId())));
+        assertStatements(4, () -> perform(get("/items").header(USER_HEADER, owner.getId())));
+        assertStatements(1, () -> perform(get("/items/{id}/comments", item.getId())));
+    }
+
+    @Test
+    @DisplayName("Строки считаются по ResultSet, итоги запроса попадают в метрики по шаблону пути")
+    void request_shouldCountRowsAndPublishMetrics() throws Exception {
+        // существование пользователя ещё не в кэше: COUNT по users и выборка бронирований
+        SqlStats stats = assertStatements(2, () -> perform(get("/bookings").param("state", "ALL")
+                .header(USER_HEADER, booker.getId())));
+
+        assertThat(stats.getRows()).isEqualTo(3);
+        assertThat(stats.executions("from bookings")).isEqualTo(1);
+
+        DistributionSummary statements = meterRegistry.find(SqlStatsFilter.STATEMENTS_METER)
+                .tags("method", "GET", "uri", "/bookings")
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isPositive();
+        assertThat(meterRegistry.find(SqlStatsFilter.TIME_METER).tags("uri", "/bookings").timer()).isNotNull();
+    }
+
+    // как в отдельном HTTP-запросе: сущности из setUp и предыдущих вызовов не лежат в контексте
+    private void perform(RequestBuilder request) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        entityManager.flush();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
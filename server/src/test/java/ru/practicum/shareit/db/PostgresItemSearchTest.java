@@ -0,0 +1,100 @@
+package ru.practicum.shareit.db;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Запросы PostgresItemSearchEngine на встроенном PostgreSQL со схемой из миграций PostgreSQL-ветки.
+// Совпадение должно остаться тем же, что у LIKE '%text%' в ItemRepository.search: фраза целиком,
+// подстрокой названия или описания, без учёта регистра. Диалект профиля test (H2) заменён на PostgreSQL.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect")
+@Transactional
+class PostgresItemSearchTest {
+    private static final PageRequest PAGE = PageRequest.of(0, 10);
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Item nameMatch;
+    private Item descriptionMatch;
+    private Item wordsApart;
+    private Item wordsReversed;
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres postgres) {
+            return postgres.getPostgresDatabase();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User(null, "Owner", "owner@mail.com"));
+        nameMatch = itemRepository.save(new Item(null, "Power drill", "For concrete walls", owner, true, null));
+        descriptionMatch = itemRepository.save(new Item(null, "Bag", "Fits a power drill", owner, true, null));
+        wordsApart = itemRepository.save(new Item(null, "Drill", "Power tool", owner, true, null));
+        wordsReversed = itemRepository.save(new Item(null, "Drill, power", "Cordless", owner, true, null));
+        itemRepository.save(new Item(null, "Power drill XL", "Broken", owner, false, null));
+    }
+
+    @Test
+    @DisplayName("Слова фразы по отдельности или в другом порядке не находятся, как и с LIKE")
+    void fullTextSearch_shouldMatchWholePhraseOnly() {
+        assertThat(itemRepository.fullTextSearch("POWER DRILL", PAGE)).extracting(Item::getId)
+                .containsExactly(nameMatch.getId(), descriptionMatch.getId());
+        assertThat(itemRepository.search("POWER DRILL", PAGE)).extracting(Item::getId)
+                .containsExactly(nameMatch.getId(), descriptionMatch.getId());
+    }
+
+    @Test
+    @DisplayName("Подстрока слова находится, как и с LIKE")
+    void fullTextSearch_shouldMatchSubstrings() {
+        assertThat(itemRepository.fullTextSearch("dril", PAGE)).extracting(Item::getId)
+                .containsExactlyInAnyOrder(nameMatch.getId(), descriptionMatch.getId(), wordsApart.getId(),
+                        wordsReversed.getId());
+    }
+
+    @Test
+    @DisplayName("Поиск свободных вещей: та же фраза минус вещи с пересекающимся подтверждённым бронированием")
+    void fullTextSearchAvailable_shouldMatchWholePhraseAndSkipBooked() {
+        User booker = userRepository.save(new User(null, "Booker", "booker@mail.com"));
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        bookingRepository.save(new Booking(null, start, start.plusDays(2), nameMatch, booker, Status.APPROVED));
+
+        assertThat(itemRepository.fullTextSearchAvailable("power drill", start.plusDays(1), start.plusDays(3), PAGE))
+                .extracting(Item::getId)
+                .containsExactly(descriptionMatch.getId());
+    }
+}
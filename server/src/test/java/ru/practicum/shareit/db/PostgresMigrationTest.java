@@ -0,0 +1,188 @@
+package ru.practicum.shareit.db;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Миграции PostgreSQL-ветки на встроенном PostgreSQL с настройками Flyway из application.properties.
+// db/baseline-schema.sql — schema.sql, которым создавались базы до перехода на Flyway:
+// такие базы помечаются baseline-версией 1, поэтому V1 обязана совпадать с ним, а всё новое — идти с V2.
+class PostgresMigrationTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        JdbcTemplate admin = new JdbcTemplate(postgres.getPostgresDatabase());
+        admin.execute("CREATE DATABASE legacy");
+        admin.execute("CREATE DATABASE fresh");
+        admin.execute("CREATE DATABASE overlap");
+        admin.execute("CREATE DATABASE explain");
+        // в пустых таблицах планировщику дешевле Seq Scan; без него видно, каким индексом запрос может читать
+        admin.execute("ALTER DATABASE explain SET enable_seqscan = off");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    @DisplayName("V1 байт в байт совпадает со старым schema.sql")
+    void v1_shouldMatchBaselineSchema() throws Exception {
+        byte[] baseline = new ClassPathResource("db/baseline-schema.sql").getContentAsByteArray();
+        byte[] v1 = new ClassPathResource("db/migration/postgresql/V1__init_schema.sql").getContentAsByteArray();
+
+        assertThat(Arrays.equals(v1, baseline)).isTrue();
+    }
+
+    @Test
+    @DisplayName("База со старым schema.sql получает baseline V1 и все миграции, поиск вещей работает")
+    void legacyDatabase_shouldBeBaselinedAndMigrated() throws Exception {
+        DataSource dataSource = postgres.getDatabase("postgres", "legacy");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute(new ClassPathResource("db/baseline-schema.sql").getContentAsString(StandardCharsets.UTF_8));
+        jdbc.update("INSERT INTO users (name, email) VALUES ('Owner', 'owner@mail.com')");
+        jdbc.update("INSERT INTO items (name, description, owner_id, available) "
+                + "VALUES ('Drill', 'Power drill', 1, true)");
+
+        flyway(dataSource).migrate();
+
+        MigrationInfo[] applied = flyway(dataSource).info().applied();
+        assertThat(applied[0].getType().isBaseline()).isTrue();
+        assertThat(applied[applied.length - 1].getVersion().getVersion()).isEqualTo("8");
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM pg_extension WHERE extname = 'pg_trgm'", Long.class))
+                .isEqualTo(1);
+        assertThat(jdbc.queryForList("SELECT name FROM items "
+                + "WHERE search_vector @@ plainto_tsquery('simple', 'drill') AND available", String.class))
+                .containsExactly("Drill");
+        // после V6 id выдаёт последовательность, а не IDENTITY
+        jdbc.update("INSERT INTO items (name, description, owner_id, available) VALUES ('Saw', 'Hand saw', 1, true)");
+        assertThat(jdbc.queryForObject("SELECT MAX(id) FROM items", Long.class)).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Пустая база проходит V1–V8, повторный запуск ничего не делает")
+    void freshDatabase_shouldMigrateFromScratch() {
+        DataSource dataSource = postgres.getDatabase("postgres", "fresh");
+
+        assertThat(flyway(dataSource).migrate().migrationsExecuted).isEqualTo(8);
+        assertThat(flyway(dataSource).migrate().migrationsExecuted).isZero();
+        assertThat(new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM pg_indexes WHERE indexname = 'ix_items_search_vector'", Long.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("V3: два пересекающихся APPROVED-бронирования одной вещи база не пропускает")
+    void approvedOverlap_shouldBeRejectedByExclusionConstraint() {
+        DataSource dataSource = postgres.getDatabase("postgres", "overlap");
+        flyway(dataSource).migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO users (name, email) "
+                + "VALUES ('Owner', 'owner@mail.com'), ('Booker', 'booker@mail.com')");
+        jdbc.update("INSERT INTO items (name, description, owner_id, available) "
+                + "SELECT 'Drill', 'Power drill', id, true FROM users WHERE email = 'owner@mail.com'");
+        String booking = "INSERT INTO bookings (start_date, end_date, status, item_id, booker_id) "
+                + "SELECT ?::timestamp, ?::timestamp, ?, i.id, u.id "
+                + "FROM items i, users u WHERE u.email = 'booker@mail.com'";
+
+        jdbc.update(booking, "2030-01-01 10:00", "2030-01-01 12:00", "APPROVED");
+        // ожидающие заявки и соседние интервалы ([) — конец не включён) ограничению не мешают
+        jdbc.update(booking, "2030-01-01 11:00", "2030-01-01 13:00", "WAITING");
+        jdbc.update(booking, "2030-01-01 12:00", "2030-01-01 14:00", "APPROVED");
+
+        assertThatThrownBy(() -> jdbc.update(booking, "2030-01-01 11:00", "2030-01-01 13:00", "APPROVED"))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("ex_bookings_item_approved_overlap");
+    }
+
+    @Test
+    @DisplayName("Горячие запросы читают бронирования, комментарии и запросы через индексы V2–V8")
+    void hotQueries_shouldUsePostgresIndexes() {
+        DataSource dataSource = postgres.getDatabase("postgres", "explain");
+        flyway(dataSource).migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // бронирования пользователя и владельца, keyset по (start_date, id)
+        assertThat(explain(jdbc, """
+                SELECT b.id FROM bookings b JOIN items i ON i.id = b.item_id
+                WHERE b.booker_id = 1
+                  AND (b.start_date < now() OR (b.start_date = now() AND b.id < 100))
+                ORDER BY b.start_date DESC, b.id DESC LIMIT 10"""))
+                .contains("ix_bookings_booker_start");
+        assertThat(explain(jdbc, """
+                SELECT b.id FROM bookings b JOIN items i ON i.id = b.item_id
+                WHERE i.owner_id = 1
+                  AND (b.start_date < now() OR (b.start_date = now() AND b.id < 100))
+                ORDER BY b.start_date DESC, b.id DESC LIMIT 10"""))
+                .contains("ix_items_owner", "ix_bookings_item_");
+
+        // last/next booking — частичный индекс по подтверждённым
+        assertThat(explain(jdbc, """
+                SELECT b.id FROM bookings b
+                WHERE b.item_id = 1 AND b.start_date < now() AND b.status = 'APPROVED'
+                ORDER BY b.start_date DESC LIMIT 1"""))
+                .contains("ix_bookings_item_start_approved");
+        assertThat(explain(jdbc, """
+                SELECT b.id FROM bookings b
+                WHERE b.item_id IN (1, 2) AND b.status = 'APPROVED' AND b.start_date > now()"""))
+                .contains("ix_bookings_item_start_approved");
+
+        // право на комментарий: end_date < now проверяется в частичном индексе, а не после чтения строки
+        assertThat(explain(jdbc, """
+                SELECT b.id FROM bookings b
+                WHERE b.booker_id = 1 AND b.item_id = 1 AND b.status = 'APPROVED' AND b.end_date < now()
+                LIMIT 1"""))
+                .contains("ix_bookings_item_start_approved")
+                .containsPattern("Index Cond: .*end_date < now\\(\\)");
+        // остальные статусы — через (item_id, status, start_date, end_date)
+        assertThat(explain(jdbc, """
+                SELECT b.id FROM bookings b
+                WHERE b.item_id = 1 AND b.status = 'WAITING' AND b.end_date < now()
+                ORDER BY b.start_date DESC"""))
+                .contains("ix_bookings_item_status_start_end")
+                .containsPattern("Index Cond: .*end_date < now\\(\\)");
+
+        assertThat(explain(jdbc, """
+                SELECT c.id FROM comments c WHERE c.item_id IN (1, 2)
+                ORDER BY c.item_id, c.created DESC, c.id DESC"""))
+                .contains("ix_comments_item_created");
+        assertThat(explain(jdbc, """
+                SELECT r.id FROM requests r WHERE r.requester_id <> 1 ORDER BY r.created DESC LIMIT 10"""))
+                .contains("ix_requests_created");
+        assertThat(explain(jdbc, """
+                SELECT r.id FROM requests r WHERE r.requester_id = 1 ORDER BY r.created DESC"""))
+                .contains("ix_requests_requester_created");
+    }
+
+    private static String explain(JdbcTemplate jdbc, String sql) {
+        String plan = String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class));
+        assertThat(plan).as("План запроса читает таблицу целиком:%n%s", plan).doesNotContain("Seq Scan");
+        return plan;
+    }
+
+    private static Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/postgresql")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.db;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Проверяет по EXPLAIN, что SQL, который Hibernate строит для запросов репозиториев, читает таблицы через индексы.
+// Поиск по подстроке (ItemRepository.search / fullTextSearch) сюда не входит: в PostgreSQL его обслуживают GIN-индексы.
+// База здесь H2 без частичных индексов; планы PostgreSQL, включая частичный индекс по APPROVED,
+// проверяет PostgresMigrationTest.
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Transactional
+class QueryIndexUsageTest {
+
+    private static final List<String> CAPTURED_SQL = new CopyOnWriteArrayList<>();
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final PageRequest PAGE = PageRequest.of(0, 10);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+        @Bean
+        HibernatePropertiesCustomizer sqlCapture() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    (StatementInspector) sql -> {
+                        CAPTURED_SQL.add(sql);
+                        return sql;
+                    });
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        CAPTURED_SQL.clear();
+    }
+
+    @Test
+    @DisplayName("Списки бронирований booker/owner используют индексы")
+    void bookingListQueries_shouldUseIndexes() {
+        assertUsesIndex(() -> bookingRepository.findBookerBookings(1L, NOW, Long.MAX_VALUE, PAGE));
+        assertUsesIndex(() -> bookingRepository.findBookerCurrentBookings(1L, NOW, NOW, Long.MAX_VALUE, PAGE));
+        assertUsesIndex(() -> bookingRepository.findBookerPastBookings(1L, NOW, NOW, Long.MAX_VALUE, PAGE));
+        assertUsesIndex(() -> bookingRepository.findBookerFutureBookings(1L, NOW, NOW, Long.MAX_VALUE, PAGE));
+        assertUsesIndex(() -> bookingRepository.findBookerBookingsByStatus(1L, Status.WAITING, NOW, Long.MAX_VALUE, PAGE));
+        assertUsesIndex(() -> bookingRepository.findOwnerBookings(1L, NOW, Long.MAX_VALUE, PAGE));
+        assertUsesIndex(() -> bookingRepository.findOwnerCurrentBookings(1L, NOW, NOW, Long.MAX_VALUE, PAGE));
+        assertUsesIndex(() -> bookingRepository.findOwnerPastBookings(1L, NOW, NOW, Long.MAX_VALUE, PAGE));
+        assertUsesIndex(() -> bookingRepository.findOwnerFutureBookings(1L, NOW, NOW, Long.MAX_VALUE, PAGE));
+        assertUsesIndex(() -> bookingRepository.findOwnerBookingsByStatus(1L, Status.WAITING, NOW, Long.MAX_VALUE, PAGE));
+    }
+
+    @Test
+    @DisplayName("last/next booking и проверка права на комментарий используют индексы")
+    void bookingLookupQueries_shouldUseIndexes() {
+        assertUsesIndex(() -> bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(1L, 1L, Status.APPROVED, NOW));
+        assertUsesIndex(() -> bookingRepository.findLastBooking(1L, NOW, Status.APPROVED, PageRequest.of(0, 1)));
+        assertUsesIndex(() -> bookingRepository.findNextBooking(1L, NOW, Status.APPROVED, PageRequest.of(0, 1)));
+        assertUsesIndex(() -> bookingRepository.findBookingEdges(List.of(1L, 2L), NOW));
+    }
+
+    @Test
+    @DisplayName("Запросы вещей, комментариев и запросов на вещи используют индексы")
+    void itemCommentAndRequestQueries_shouldUseIndexes() {
+        assertUsesIndex(() -> itemRepository.findByOwnerIdOrderByIdAsc(1L));
+        assertUsesIndex(() -> itemRepository.findItemDtosByRequestIdIn(List.of(1L, 2L)));
+        assertUsesIndex(() -> itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(0L, Limit.of(10)));
+        assertUsesIndex(() -> commentRepository.findByItemId(1L));
+        assertUsesIndex(() -> commentRepository.findCommentPreviews(List.of(1L, 2L), 3));
+        assertUsesIndex(() -> commentRepository.findCommentPage(1L, NOW, Long.MAX_VALUE, PAGE));
+        assertUsesIndex(() -> commentRepository.findFirstCommentPage(1L, 20));
+        assertUsesIndex(() -> itemRequestRepository.findRequestDtosByRequesterId(1L));
+        assertUsesIndex(() -> itemRequestRepository.findRequestDtosByRequesterIdNot(1L, PAGE));
+    }
+
+    private void assertUsesIndex(Runnable query) {
+        CAPTURED_SQL.clear();
+        query.run();
+        assertThat(CAPTURED_SQL).isNotEmpty();
+        for (String sql : List.copyOf(CAPTURED_SQL)) {
+            String plan = explain(sql);
+            assertThat(plan)
+                    .as("План запроса читает таблицу целиком:%n%s", plan)
+                    .doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql,
+                ps -> {
+                    int count = ps.getParameterMetaData().getParameterCount();
+                    for (int i = 1; i <= count; i++) {
+                        ps.setObject(i, null);
+                    }
+                },
+                rs -> {
+                    StringBuilder plan = new StringBuilder();
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                });
+    }
+
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.db;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.CommentService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Точное число SQL-запросов, которые выполняет каждый метод сервиса, и число загружаемых сущностей.
+// Ассоциации ленивые, поэтому лишний запрос здесь означает N+1 или забытый fetch в репозитории.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@Transactional
+class ServiceStatementCountTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking pastBooking;
+    private Booking futureBooking;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        LocalDateTime now = LocalDateTime.now();
+
+        owner = persist(new User(null, "Owner", "owner@mail.com"));
+        booker = persist(new User(null, "Booker", "booker@mail.com"));
+        ItemRequest request = persist(new ItemRequest(null, "Нужна дрель", booker, now.minusDays(3)));
+        item = persist(new Item(null, "Drill", "Power drill", owner, true, null));
+        persist(new Item(null, "Saw", "Hand saw", owner, true, request));
+        pastBooking = persist(new Booking(null, now.minusDays(2), now.minusDays(1), item, booker, Status.APPROVED));
+        futureBooking = persist(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker, Status.WAITING));
+        persist(new Comment(null, "Отличная дрель", now.minusHours(12), item, booker));
+
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("BookingService — число запросов на чтение и изменение бронирований")
+    void bookingService_statementCounts() {
+        assertStatements(2, () -> bookingService.getBookingById(booker.getId(), pastBooking.getId()));
+        // существование booker уже закэшировано предыдущим вызовом
+        assertStatements(1, () -> bookingService.getUserBookings(booker.getId(), "ALL", null, 10));
+        assertStatements(2, () -> bookingService.getOwnerBookings(owner.getId(), "ALL", null, 10));
+        assertStatements(4, () -> bookingService.updateBooking(owner.getId(), futureBooking.getId(), true));
+        assertStatements(3, () -> bookingService.createBooking(booker.getId(), new BookingCreateDto(
+                LocalDateTime.now().plusDays(5), LocalDateTime.now().plusDays(6), item.getId())));
+    }
+
+    @Test
+    @DisplayName("ItemService — число запросов на карточку, список и поиск вещей")
+    void itemService_statementCounts() {
+        assertStatements(4, () -> itemService.getItemById(owner.getId(), item.getId()));
+        assertStatements(0, () -> itemService.getItemById(owner.getId(), item.getId()));
+        assertStatements(2, () -> itemService.getItemById(booker.getId(), item.getId()));
+        assertStatements(4, () -> itemService.getAllItemsByOwner(owner.getId()));
+        assertStatements(2, () -> itemService.searchItems("drill", null, null, 0, 100));
+        assertStatements(2, () -> itemService.searchItems("drill",
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(3), 0, 100));
+    }
+
+    @Test
+    @DisplayName("Пакетное создание 120 вещей — id из последовательности блоками, INSERT пачками")
+    void createItems_statementCount() {
+        List<ItemCreateDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            dtos.add(new ItemCreateDto("Item " + i, "Batch item", true, null));
+        }
+
+        entityManager.clear();
+        statistics.clear();
+
+        itemService.createItems(owner.getId(), dtos);
+        entityManager.flush();
+
+        // существование владельца, не больше 3 nextval на 120 id (часть блока могла остаться от setUp)
+        // и один INSERT, который переиспользуется для всех пачек по batch_size = 50
+        assertThat(statistics.getPrepareStatementCount())
+                .as("Число SQL-запросов")
+                .isLessThanOrEqualTo(5);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+    }
+
+    @Test
+    @DisplayName("CommentService и ItemRequestService — число запросов")
+    void commentAndRequestService_statementCounts() {
+        assertStatements(4, () -> commentService.createComment(booker.getId(), item.getId(), new CommentCreateDto("Ещё раз")));
+        assertStatements(1, () -> commentService.getCommentsByItem(item.getId(), null, 20));
+        assertStatements(3, () -> itemRequestService.getUserRequests(booker.getId()));
+        assertStatements(3, () -> itemRequestService.getAllRequests(owner.getId(), 0, 10));
+    }
+
+    @Test
+    @DisplayName("Списочные методы читают DTO-проекции и не загружают сущности и не загружают пользователя для проверки существования")
+    void listMethods_shouldNotHydrateEntities() {
+        assertEntitiesLoaded(0, () -> bookingService.getUserBookings(booker.getId(), "ALL", null, 10));
+        assertEntitiesLoaded(0, () -> bookingService.getOwnerBookings(owner.getId(), "ALL", null, 10));
+        assertEntitiesLoaded(0, () -> itemRequestService.getAllRequests(owner.getId(), 0, 10));
+        assertEntitiesLoaded(0, () -> commentService.getCommentsByItem(item.getId(), null, 20));
+    }
+
+    private void assertEntitiesLoaded(long expected, Runnable serviceCall) {
+        entityManager.clear();
+        statistics.clear();
+
+        serviceCall.run();
+
+        assertThat(statistics.getEntityLoadCount())
+                .as("Число загруженных сущностей")
+                .isEqualTo(expected);
+    }
+
+    private void assertStatements(long expected, Runnable serviceCall) {
+        entityManager.clear();
+        statistics.clear();
+
+        serviceCall.run();
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("Число SQL-запросов")
+                .isEqualTo(expected);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+}
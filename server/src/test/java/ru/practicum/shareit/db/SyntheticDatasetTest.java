@@ -0,0 +1,107 @@
+package ru.practicum.shareit.db;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.dataset.DatasetLoader;
+import ru.practicum.shareit.dataset.DatasetSpec;
+import ru.practicum.shareit.dataset.DatasetSummary;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Набор из модуля dataset заливается в отдельную H2 со схемой из миграций и читается сервисами.
+// Свойство spring.datasource.name даёт этому классу собственный контекст и базу,
+// поэтому залитые строки не видны остальным тестам.
+@SpringBootTest(properties = "spring.datasource.name=synthetic-dataset")
+@AutoConfigureTestDatabase
+class SyntheticDatasetTest {
+
+    private static final DatasetSpec SPEC = DatasetSpec.parse("users=300", "requests=200", "items=3000",
+            "bookings=20000", "comments=4000", "past-days=365", "future-days=90");
+
+    private static DatasetSummary summary;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (summary == null) {
+            summary = DatasetLoader.load(dataSource, SPEC);
+        }
+    }
+
+    @Test
+    @DisplayName("Все строки набора в базе, популярные вещи и крупные владельцы на месте")
+    void load_shouldFillAllTables() {
+        assertThat(count("users")).isEqualTo(300);
+        assertThat(count("requests")).isEqualTo(200);
+        assertThat(count("items")).isEqualTo(3000);
+        assertThat(count("bookings")).isEqualTo(20000);
+        assertThat(count("comments")).isEqualTo(4000);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE item_id = ?", Long.class,
+                summary.mostBookedItemId())).isEqualTo(summary.mostBookedItemBookings());
+        assertThat(summary.busiestOwnerItems()).isGreaterThan(100);
+    }
+
+    @Test
+    @DisplayName("Сервисы читают залитые данные: бронирования владельца и карточка популярной вещи")
+    void services_shouldServeLoadedData() {
+        List<BookingDto> ownerBookings = bookingService.getOwnerBookings(summary.busiestOwnerId(), "ALL", null, 20);
+        assertThat(ownerBookings).hasSize(20);
+
+        Long ownerId = jdbcTemplate.queryForObject("SELECT owner_id FROM items WHERE id = ?", Long.class,
+                summary.longestThreadItemId());
+        ItemWithBookingsDto card = itemService.getItemById(ownerId, summary.longestThreadItemId());
+        assertThat(card.getCommentCount()).isEqualTo(summary.longestThreadComments());
+        assertThat(card.getLastBooking()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Последовательности сдвинуты за залитые id — новые строки не конфликтуют")
+    void load_shouldRestartSequences() {
+        Long id = userService.createUser(new UserCreateDto("New user", "new-user@mail.com")).getId();
+
+        assertThat(id).isGreaterThan(300L);
+        userService.deleteUser(id);
+    }
+
+    @Test
+    @DisplayName("Повторная заливка в непустую базу отклоняется")
+    void load_shouldRejectNonEmptyDatabase() {
+        assertThatThrownBy(() -> DatasetLoader.load(dataSource, SPEC))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("пустая база");
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
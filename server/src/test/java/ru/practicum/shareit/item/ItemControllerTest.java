@@ -14,6 +14,7 @@ import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.CommentService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 
@@ -21,6 +22,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -47,7 +49,7 @@ class ItemControllerTest {
     @DisplayName("POST /items — успешное создание вещи")
     void createItem_shouldReturnCreatedItem() throws Exception {
         ItemCreateDto createDto = new ItemCreateDto("Item", "Item description", true, null);
-        ItemDto responseDto = new ItemDto(1L, "Item", "Item description", true, null, List.of());
+        ItemDto responseDto = new ItemDto(1L, "Item", "Item description", true, null, 0L, List.of());
 
         when(itemService.createItem(eq(1L), any(ItemCreateDto.class))).thenReturn(responseDto);
 
@@ -65,11 +67,36 @@ class ItemControllerTest {
     }
 
 
+    @Test
+    @DisplayName("POST /items/batch — создание списка вещей")
+    void createItems_shouldReturnCreatedItems() throws Exception {
+        List<ItemCreateDto> createDtos = List.of(
+                new ItemCreateDto("Drill", "Power drill", true, null),
+                new ItemCreateDto("Saw", "Hand saw", true, null));
+        List<ItemDto> responseDtos = List.of(
+                new ItemDto(1L, "Drill", "Power drill", true, null, 0L, List.of()),
+                new ItemDto(2L, "Saw", "Hand saw", true, null, 0L, List.of()));
+
+        when(itemService.createItems(eq(1L), anyList())).thenReturn(responseDtos);
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[1].name", is("Saw")));
+
+        verify(itemService).createItems(eq(1L), eq(createDtos));
+    }
+
+
     @Test
     @DisplayName("PATCH /items/{id} — успешное обновление вещи")
     void updateItem_shouldReturnUpdatedItem() throws Exception {
         ItemUpdateDto updateDto = new ItemUpdateDto("Updated", "Changed", false, null);
-        ItemDto updated = new ItemDto(1L, "Updated", "Changed", false, null, List.of());
+        ItemDto updated = new ItemDto(1L, "Updated", "Changed", false, null, 0L, List.of());
 
         when(itemService.updateItem(eq(1L), eq(1L), any(ItemUpdateDto.class))).thenReturn(updated);
 
@@ -89,7 +116,7 @@ class ItemControllerTest {
     @Test
     @DisplayName("GET /items/{id} — получение вещи по ID")
     void getItemById_shouldReturnItem() throws Exception {
-        ItemWithBookingsDto dto = new ItemWithBookingsDto(1L, "Item", "Item description", true, null, null, null, List.of());
+        ItemWithBookingsDto dto = new ItemWithBookingsDto(1L, "Item", "Item description", true, null, null, null, 0L, List.of(), null);
 
         when(itemService.getItemById(1L, 1L)).thenReturn(dto);
 
@@ -108,8 +135,8 @@ class ItemControllerTest {
     @DisplayName("GET /items — получение всех вещей владельца")
     void getAllItemsByOwner_shouldReturnList() throws Exception {
         List<ItemWithBookingsDto> items = List.of(
-                new ItemWithBookingsDto(1L, "Item1", "Desc1", true, null, null, null, List.of()),
-                new ItemWithBookingsDto(2L, "Item2", "Desc2", true, null, null, null, List.of())
+                new ItemWithBookingsDto(1L, "Item1", "Desc1", true, null, null, null, 0L, List.of(), null),
+                new ItemWithBookingsDto(2L, "Item2", "Desc2", true, null, null, null, 0L, List.of(), null)
         );
 
         when(itemService.getAllItemsByOwner(1L)).thenReturn(items);
@@ -128,9 +155,9 @@ class ItemControllerTest {
     @Test
     @DisplayName("GET /items/search?text=drill — успешный поиск")
     void searchItems_shouldReturnResults() throws Exception {
-        List<ItemDto> items = List.of(new ItemDto(1L, "Item", "Desc", true, null, List.of()));
+        List<ItemDto> items = List.of(new ItemDto(1L, "Item", "Desc", true, null, 0L, List.of()));
 
-        when(itemService.searchItems("item")).thenReturn(items);
+        when(itemService.searchItems("item", null, null, 0, 100)).thenReturn(items);
 
         mockMvc.perform(get("/items/search")
                         .param("text", "item"))
@@ -138,7 +165,21 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].name", is("Item")));
 
-        verify(itemService).searchItems("item");
+        verify(itemService).searchItems("item", null, null, 0, 100);
+    }
+
+
+    @Test
+    @DisplayName("GET /items/search — отрицательный from, нулевой или слишком большой size возвращают 400")
+    void searchItems_invalidPage_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/items/search").param("text", "item").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/search").param("text", "item").param("size", "1001"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/search").param("text", "item").param("from", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemService);
     }
 
 
@@ -155,6 +196,31 @@ class ItemControllerTest {
     }
 
 
+    @Test
+    @DisplayName("GET /items/{id}/comments — полная страница отдаёт курсор на последний комментарий")
+    void getComments_shouldReturnPageWithNextCursor() throws Exception {
+        LocalDateTime created = LocalDateTime.of(2026, 1, 1, 10, 0);
+        List<CommentDto> page = List.of(
+                new CommentDto(2L, "Second", "Ivan", created.plusHours(1)),
+                new CommentDto(1L, "First", "Ivan", created));
+        when(commentService.getCommentsByItem(1L, null, 2)).thenReturn(page);
+
+        mockMvc.perform(get("/items/{id}/comments", 1)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().string("X-Next-Cursor", "2026-01-01T10:00_1"));
+
+        when(commentService.getCommentsByItem(1L, "2026-01-01T10:00_1", 2)).thenReturn(List.of());
+
+        mockMvc.perform(get("/items/{id}/comments", 1)
+                        .param("cursor", "2026-01-01T10:00_1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+
     @Test
     @DisplayName("POST /items/{id}/comment — успешное добавление комментария")
     void createComment_shouldReturnComment() throws Exception {
@@ -218,5 +284,22 @@ class ItemControllerTest {
         }
     }
 
-
-}
\ No newline at end of file
+    @Test
+    @DisplayName("GET /items/{id}/availability — период передаётся в сервис в ISO-формате")
+    void getItemAvailability_shouldPassPeriod() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 1, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1L, from, to,
+                List.of(new AvailabilityIntervalDto(from, to, true)));
+
+        when(itemService.getItemAvailability(1L, from, to)).thenReturn(availability);
+
+        mockMvc.perform(get("/items/{id}/availability", 1)
+                        .param("from", "2026-03-01T00:00:00")
+                        .param("to", "2026-03-08T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1)))
+                .andExpect(jsonPath("$.intervals", hasSize(1)))
+                .andExpect(jsonPath("$.intervals[0].free", is(true)));
+    }
+}
@@ -8,19 +8,35 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.CommentService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -40,6 +56,15 @@ class ItemIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommentService commentService;
+
     private User owner;
     private User otherUser;
 
@@ -62,6 +87,22 @@ class ItemIntegrationTest {
         assertThat(itemRepository.findById(result.getId())).isPresent();
     }
 
+    @Test
+    @DisplayName("Пакетное создание вещей — все вещи сохранены с разными id и находятся поиском")
+    void createItems_shouldSaveAllItems() {
+        List<ItemCreateDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            dtos.add(new ItemCreateDto("Batch item " + i, "batch desc", true, null));
+        }
+
+        List<ItemDto> result = itemService.createItems(owner.getId(), dtos);
+
+        assertThat(result).hasSize(120);
+        assertThat(result).extracting(ItemDto::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(itemService.getAllItemsByOwner(owner.getId())).hasSize(120);
+        assertThat(itemService.searchItems("batch", null, null, 0, 1000)).hasSize(120);
+    }
+
     @Test
     @DisplayName("Создание вещи — ошибка если владелец не найден")
     void createItem_shouldThrowWhenOwnerNotFound() {
@@ -133,6 +174,108 @@ class ItemIntegrationTest {
     }
 
 
+    @Test
+    @DisplayName("Получение всех вещей — по одному последнему и следующему подтверждённому бронированию")
+    void getAllItemsByOwner_shouldPickNearestApprovedBookings() {
+        Item drill = itemRepository.save(new Item(null, "Drill", "Desc", owner, true, null));
+        Item saw = itemRepository.save(new Item(null, "Saw", "Desc", owner, true, null));
+        LocalDateTime now = LocalDateTime.now();
+
+        saveBooking(drill, now.minusDays(5), Status.APPROVED);
+        Booking lastDrill = saveBooking(drill, now.minusDays(2), Status.APPROVED);
+        saveBooking(drill, now.minusDays(1), Status.REJECTED);
+        saveBooking(drill, now.plusDays(1), Status.WAITING);
+        Booking nextDrill = saveBooking(drill, now.plusDays(2), Status.APPROVED);
+        saveBooking(drill, now.plusDays(4), Status.APPROVED);
+        Booking nextSaw = saveBooking(saw, now.plusDays(3), Status.APPROVED);
+
+        List<ItemWithBookingsDto> result = List.copyOf(itemService.getAllItemsByOwner(owner.getId()));
+
+        assertThat(result.get(0).getLastBooking()).isEqualTo(new BookingShortDto(lastDrill.getId(), otherUser.getId()));
+        assertThat(result.get(0).getNextBooking()).isEqualTo(new BookingShortDto(nextDrill.getId(), otherUser.getId()));
+        assertThat(result.get(1).getLastBooking()).isNull();
+        assertThat(result.get(1).getNextBooking()).isEqualTo(new BookingShortDto(nextSaw.getId(), otherUser.getId()));
+    }
+
+    @Test
+    @DisplayName("Списки вещей — только последние комментарии и их общее число, карточка — все комментарии")
+    void lists_shouldReturnLatestCommentsAndCount() {
+        Item drill = itemRepository.save(new Item(null, "Drill", "Desc", owner, true, null));
+        itemRepository.save(new Item(null, "Drill bits", "Desc", owner, true, null));
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 1; i <= 5; i++) {
+            commentRepository.save(new Comment(null, "Отзыв " + i, now.minusDays(10 - i), drill, otherUser));
+        }
+
+        List<ItemWithBookingsDto> ownerItems = List.copyOf(itemService.getAllItemsByOwner(owner.getId()));
+        List<ItemDto> found = List.copyOf(itemService.searchItems("drill", null, null, 0, 100));
+
+        assertThat(ownerItems.get(0).getCommentCount()).isEqualTo(5);
+        assertThat(ownerItems.get(0).getComments()).extracting(CommentDto::getText)
+                .containsExactly("Отзыв 5", "Отзыв 4", "Отзыв 3");
+        assertThat(ownerItems.get(0).getComments()).extracting(CommentDto::getAuthorName).containsOnly("Other");
+        assertThat(ownerItems.get(1).getCommentCount()).isZero();
+        assertThat(ownerItems.get(1).getComments()).isEmpty();
+        assertThat(found.get(0).getCommentCount()).isEqualTo(5);
+        assertThat(found.get(0).getComments()).hasSize(3);
+        assertThat(itemService.getItemById(otherUser.getId(), drill.getId()).getComments()).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Лента комментариев — страницы по курсору без пропусков и повторов, карточка содержит первую страницу")
+    void commentFeed_shouldPageByCursor() {
+        Item drill = itemRepository.save(new Item(null, "Drill", "Desc", owner, true, null));
+        LocalDateTime created = LocalDateTime.now().minusDays(1).withNano(0);
+        for (int i = 1; i <= 25; i++) {
+            // по два комментария с одинаковым created: порядок внутри пары задаёт id
+            commentRepository.save(new Comment(null, "Отзыв " + i, created.plusMinutes(i / 2), drill, otherUser));
+        }
+
+        List<CommentDto> feed = new ArrayList<>();
+        String cursor = null;
+        List<CommentDto> page;
+        do {
+            page = commentService.getCommentsByItem(drill.getId(), cursor, 10);
+            feed.addAll(page);
+            cursor = page.isEmpty() ? null : KeysetCursor.after(page.get(page.size() - 1).getCreated(),
+                    page.get(page.size() - 1).getId());
+        } while (page.size() == 10);
+
+        assertThat(feed).hasSize(25);
+        assertThat(feed).extracting(CommentDto::getId).doesNotHaveDuplicates();
+        assertThat(feed).isSortedAccordingTo(Comparator.comparing(CommentDto::getCreated)
+                .thenComparing(CommentDto::getId).reversed());
+
+        ItemWithBookingsDto card = itemService.getItemById(otherUser.getId(), drill.getId());
+        assertThat(card.getCommentCount()).isEqualTo(25);
+        assertThat(card.getComments()).isEqualTo(feed.subList(0, 20));
+        // продолжение ленты с курсора из карточки — ровно оставшиеся комментарии
+        assertThat(commentService.getCommentsByItem(drill.getId(), card.getNextCommentsCursor(), 10))
+                .isEqualTo(feed.subList(20, 25));
+    }
+
+    @Test
+    @DisplayName("Календарь занятости — учитываются только подтверждённые бронирования в периоде")
+    void getItemAvailability_shouldReturnApprovedBusyIntervals() {
+        Item drill = itemRepository.save(new Item(null, "Drill", "Desc", owner, true, null));
+        LocalDateTime from = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+        saveBooking(drill, from.minusDays(30), Status.APPROVED);
+        Booking crossing = bookingRepository.save(
+                new Booking(null, from.minusHours(2), from.plusHours(3), drill, otherUser, Status.APPROVED));
+        saveBooking(drill, from.plusDays(1), Status.WAITING);
+        Booking inside = saveBooking(drill, from.plusDays(2), Status.APPROVED);
+        saveBooking(drill, from.plusDays(20), Status.APPROVED);
+
+        ItemAvailabilityDto result = itemService.getItemAvailability(drill.getId(), from, from.plusDays(7));
+
+        assertThat(result.getIntervals()).containsExactly(
+                new AvailabilityIntervalDto(from, crossing.getEnd(), false),
+                new AvailabilityIntervalDto(crossing.getEnd(), inside.getStart(), true),
+                new AvailabilityIntervalDto(inside.getStart(), inside.getEnd(), false),
+                new AvailabilityIntervalDto(inside.getEnd(), from.plusDays(7), true));
+    }
+
     @Test
     @DisplayName("Получение всех вещей — ошибка если владелец не найден")
     void getAllItemsByOwner_shouldThrowWhenOwnerNotFound() {
@@ -147,8 +290,8 @@ class ItemIntegrationTest {
         itemService.createItem(owner.getId(), new ItemCreateDto("Drill", "Power tool", true, null));
         itemService.createItem(owner.getId(), new ItemCreateDto("Hammer", "Steel hammer", true, null));
 
-        Collection<ItemDto> foundDrill = itemService.searchItems("drill");
-        Collection<ItemDto> foundHammer = itemService.searchItems("steel");
+        Collection<ItemDto> foundDrill = itemService.searchItems("drill", null, null, 0, 100);
+        Collection<ItemDto> foundHammer = itemService.searchItems("steel", null, null, 0, 100);
 
         assertThat(foundDrill).hasSize(1);
         assertThat(foundDrill.iterator().next().getName()).isEqualTo("Drill");
@@ -157,10 +300,61 @@ class ItemIntegrationTest {
         assertThat(foundHammer.iterator().next().getName()).isEqualTo("Hammer");
     }
 
+    @Test
+    @DisplayName("Поиск вещей — совпадения в названии идут раньше совпадений в описании")
+    void searchItems_shouldRankNameMatchesFirst() {
+        itemService.createItem(owner.getId(), new ItemCreateDto("Bag", "Bag for a drill", true, null));
+        itemService.createItem(owner.getId(), new ItemCreateDto("Cordless drill", "Power tool", true, null));
+        itemService.createItem(owner.getId(), new ItemCreateDto("Drill bits", "Set", false, null));
+
+        Collection<ItemDto> found = itemService.searchItems("DRILL", null, null, 0, 100);
+
+        assertThat(found).extracting(ItemDto::getName)
+                .containsExactly("Cordless drill", "Bag");
+    }
+
+    @Test
+    @DisplayName("Поиск вещей постранично — from/size применяются к упорядоченному по релевантности списку")
+    void searchItems_shouldReturnRequestedPage() {
+        for (int i = 1; i <= 5; i++) {
+            itemService.createItem(owner.getId(), new ItemCreateDto("Drill " + i, "Power tool", true, null));
+        }
+        itemService.createItem(owner.getId(), new ItemCreateDto("Case", "Case for a drill", true, null));
+
+        assertThat(itemService.searchItems("drill", null, null, 0, 2))
+                .extracting(ItemDto::getName).containsExactly("Drill 1", "Drill 2");
+        assertThat(itemService.searchItems("drill", null, null, 4, 2))
+                .extracting(ItemDto::getName).containsExactly("Drill 5", "Case");
+        assertThat(itemService.searchItems("drill", null, null, 6, 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Поиск вещей на период — вещи с пересекающимся подтверждённым бронированием не возвращаются")
+    void searchItems_withPeriod_shouldExcludeBookedItems() {
+        Item booked = itemRepository.save(new Item(null, "Drill", "Power tool", owner, true, null));
+        Item waiting = itemRepository.save(new Item(null, "Drill press", "Bench tool", owner, true, null));
+        Item adjacent = itemRepository.save(new Item(null, "Hand drill", "Manual", owner, true, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(10).withNano(0);
+        LocalDateTime end = start.plusDays(2);
+        bookingRepository.save(new Booking(null, start.plusDays(1), end.plusDays(1), booked, otherUser, Status.APPROVED));
+        bookingRepository.save(new Booking(null, start, end, waiting, otherUser, Status.WAITING));
+        // бронь заканчивается ровно в start: интервалы [start, end) не пересекаются
+        bookingRepository.save(new Booking(null, start.minusDays(1), start, adjacent, otherUser, Status.APPROVED));
+
+        Collection<ItemDto> found = itemService.searchItems("drill", start, end, 0, 100);
+
+        assertThat(found).extracting(ItemDto::getId)
+                .containsExactlyInAnyOrder(waiting.getId(), adjacent.getId());
+        assertThat(itemService.searchItems("drill", end, end.plusDays(2), 0, 100))
+                .extracting(ItemDto::getId)
+                .containsExactlyInAnyOrder(waiting.getId(), adjacent.getId());
+        assertThat(itemService.searchItems("drill", null, null, 0, 100)).hasSize(3);
+    }
+
     @Test
     @DisplayName("Поиск вещей — пустой запрос возвращает пустой список")
     void searchItems_blankText_shouldReturnEmpty() {
-        Collection<ItemDto> found = itemService.searchItems("  ");
+        Collection<ItemDto> found = itemService.searchItems("  ", null, null, 0, 100);
         assertThat(found).isEmpty();
     }
 
@@ -193,4 +387,8 @@ class ItemIntegrationTest {
         assertThrows(ConflictException.class, () ->
                 itemService.deleteItem(owner.getId(), null));
     }
-}
\ No newline at end of file
+
+    private Booking saveBooking(Item item, LocalDateTime start, Status status) {
+        return bookingRepository.save(new Booking(null, start, start.plusHours(1), item, otherUser, status));
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemCardCacheTest {
+
+    private static final Long OWNER_ID = 1L;
+    private static final Long OTHER_ID = 2L;
+
+    private ItemCardCache cache;
+    private ItemWithBookingsDto ownerCard;
+    private ItemWithBookingsDto publicCard;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemCardCache(100, Duration.ofMinutes(1));
+        ownerCard = new ItemWithBookingsDto(10L, "Дрель", "Описание", true, null,
+                new BookingShortDto(5L, OTHER_ID), null, 0L, List.of(), null);
+        publicCard = new ItemWithBookingsDto(10L, "Дрель", "Описание", true, null, null, null, 0L, List.of(), null);
+    }
+
+    @Test
+    @DisplayName("get — владелец и остальные пользователи получают каждый свою запись")
+    void get_shouldSelectViewByOwner() {
+        cache.put(10L, OWNER_ID, true, ownerCard, cache.version(10L));
+        cache.put(10L, OWNER_ID, false, publicCard, cache.version(10L));
+
+        assertThat(cache.get(10L, OWNER_ID)).containsSame(ownerCard);
+        assertThat(cache.get(10L, OTHER_ID)).containsSame(publicCard);
+    }
+
+    @Test
+    @DisplayName("get — запись владельца не отдаётся другим пользователям, и наоборот")
+    void get_shouldNotLeakOwnerView() {
+        cache.put(10L, OWNER_ID, true, ownerCard, cache.version(10L));
+        assertThat(cache.get(10L, OTHER_ID)).isEmpty();
+
+        cache.evict(10L);
+        cache.put(10L, OWNER_ID, false, publicCard, cache.version(10L));
+        assertThat(cache.get(10L, OWNER_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("evict / evictAll — удаляют обе записи вещи")
+    void evict_shouldDropBothViews() {
+        cache.put(10L, OWNER_ID, true, ownerCard, cache.version(10L));
+        cache.put(10L, OWNER_ID, false, publicCard, cache.version(10L));
+        cache.put(11L, OWNER_ID, false, publicCard, cache.version(11L));
+
+        cache.evict(10L);
+        assertThat(cache.get(10L, OWNER_ID)).isEmpty();
+        assertThat(cache.get(10L, OTHER_ID)).isEmpty();
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.evictAll();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("put — карточка, загруженная до evict, в кэш не попадает")
+    void put_shouldRejectCardLoadedBeforeEviction() {
+        long version = cache.version(10L);
+        cache.evict(10L);
+        cache.put(10L, OWNER_ID, false, publicCard, version);
+        assertThat(cache.get(10L, OTHER_ID)).isEmpty();
+
+        cache.put(10L, OWNER_ID, false, publicCard, cache.version(10L));
+        assertThat(cache.get(10L, OTHER_ID)).containsSame(publicCard);
+    }
+
+    @Test
+    @DisplayName("evict в транзакции — карточка, прочитанная до коммита, удаляется и больше не кладётся")
+    void evict_shouldRejectCardReadBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(10L);
+            // параллельный запрос читает версию и карточку, пока изменение ещё не закоммичено
+            long version = cache.version(10L);
+            cache.put(10L, OWNER_ID, false, publicCard, version);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            assertThat(cache.get(10L, OTHER_ID)).isEmpty();
+            cache.put(10L, OWNER_ID, false, publicCard, version);
+            assertThat(cache.get(10L, OTHER_ID)).isEmpty();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Размер кэша ограничен max-size")
+    void put_shouldRespectMaximumSize() {
+        ItemCardCache small = new ItemCardCache(2, Duration.ofMinutes(1));
+        for (long id = 1; id <= 50; id++) {
+            small.put(id, OWNER_ID, false, publicCard, small.version(id));
+        }
+        assertThat(small.size()).isLessThanOrEqualTo(2);
+    }
+
+}
@@ -17,7 +17,7 @@ class CommentMapperTest {
     @Test
     @DisplayName("toCommentDto — возвращает null при comment = null")
     void toCommentDto_shouldReturnNull_whenCommentNull() {
-        CommentDto result = CommentMapper.toCommentDto(null);
+        CommentDto result = CommentMapper.toCommentDto((Comment) null);
         assertThat(result).isNull();
     }
 
@@ -2,8 +2,8 @@ package ru.practicum.shareit.item.mapper;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
@@ -70,16 +70,10 @@ class ItemMapperTest {
     @DisplayName("toItemWithBookingsDto — корректно маппит все поля и бронирования")
     void toItemWithBookingsDto_shouldMapAllFields() {
         User owner = new User(1L, "Ivan", "ivan@mail.ru");
-        User booker = new User(2L, "Oleg", "oleg@mail.ru");
         Item item = new Item(10L, "Вещь", "Описание", owner, true, null);
 
-        Booking last = new Booking();
-        last.setId(11L);
-        last.setBooker(booker);
-
-        Booking next = new Booking();
-        next.setId(12L);
-        next.setBooker(booker);
+        BookingShortDto last = new BookingShortDto(11L, 2L);
+        BookingShortDto next = new BookingShortDto(12L, 2L);
 
         Comment comment = new Comment(3L, "Комментарий", LocalDateTime.now(), item, owner);
 
@@ -104,6 +98,22 @@ class ItemMapperTest {
         assertThat(result.getComments()).isEmpty();
     }
 
+    @Test
+    @DisplayName("toItemWithBookingsDto — курсор продолжения ленты есть, только если в карточке не все комментарии")
+    void toItemWithBookingsDto_shouldSetNextCommentsCursor_whenFeedContinues() {
+        User owner = new User(1L, "Ivan", "ivan@mail.ru");
+        Item item = new Item(10L, "Вещь", "Описание", owner, true, null);
+        LocalDateTime created = LocalDateTime.of(2026, 1, 1, 10, 0);
+        List<CommentDto> firstPage = List.of(
+                new CommentDto(16L, "Новый", "Ivan", created.plusHours(1)),
+                new CommentDto(15L, "Старый", "Ivan", created));
+
+        assertThat(ItemMapper.toItemWithBookingsDto(item, null, null, firstPage, 5).getNextCommentsCursor())
+                .isEqualTo("2026-01-01T10:00_15");
+        assertThat(ItemMapper.toItemWithBookingsDto(item, null, null, firstPage, 2).getNextCommentsCursor())
+                .isNull();
+    }
+
     @Test
     @DisplayName("toItem — возвращает null при dto = null")
     void toItem_shouldReturnNull_whenDtoNull() {
@@ -0,0 +1,182 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+    private static final Pageable ALL = PageRequest.of(0, 100);
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private InMemoryItemSearchEngine engine;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User(1L, "Owner", "owner@mail.com");
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(
+                        new Item(1L, "Bag", "Bag for a drill", owner, true, null),
+                        new Item(2L, "Cordless Drill", "Power tool", owner, true, null),
+                        new Item(3L, "Hammer", "Steel hammer", owner, true, null)));
+        engine = new InMemoryItemSearchEngine(itemRepository, bookingRepository, new SimpleMeterRegistry());
+        engine.afterSingletonsInstantiated();
+    }
+
+    @Test
+    @DisplayName("Поиск по подстроке без учёта регистра, совпадения в названии первыми")
+    void search_shouldMatchSubstringsAndRankNameFirst() {
+        assertThat(engine.search("DRIL", ALL)).extracting(Item::getId).containsExactly(2L, 1L);
+        assertThat(engine.search("mm", ALL)).extracting(Item::getId).containsExactly(3L);
+        assertThat(engine.search("saw", ALL)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Поиск возвращает только запрошенную страницу в порядке релевантности")
+    void search_shouldReturnRequestedPage() {
+        assertThat(engine.search("DRIL", PageRequest.of(0, 1))).extracting(Item::getId).containsExactly(2L);
+        assertThat(engine.search("DRIL", PageRequest.of(1, 1))).extracting(Item::getId).containsExactly(1L);
+        assertThat(engine.search("DRIL", PageRequest.of(1, 2))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Поиск свободных вещей отсеивает занятые одним запросом по найденным ID")
+    void searchAvailable_shouldExcludeBookedItems() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime end = start.plusDays(1);
+        when(bookingRepository.findBookedItemIds(List.of(2L, 1L), Status.APPROVED, start, end))
+                .thenReturn(List.of(2L));
+
+        assertThat(engine.searchAvailable("drill", start, end, ALL)).extracting(Item::getId).containsExactly(1L);
+        assertThat(engine.searchAvailable("saw", start, end, ALL)).isEmpty();
+        verify(bookingRepository, times(1)).findBookedItemIds(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Изменения вещей применяются к индексу без перестроения")
+    void updates_shouldBeAppliedIncrementally() {
+        User other = new User(2L, "Other", "other@mail.com");
+        engine.onItemSaved(new Item(4L, "Drill press", "Bench tool", other, true, null));
+        engine.onItemSaved(new Item(2L, "Cordless Drill", "Power tool", owner, false, null));
+        engine.onItemDeleted(1L);
+        engine.awaitPendingUpdates();
+
+        assertThat(engine.search("drill", ALL)).extracting(Item::getId).containsExactly(4L);
+
+        engine.onOwnerDeleted(1L);
+        engine.awaitPendingUpdates();
+
+        assertThat(engine.search("tool", ALL)).extracting(Item::getId).containsExactly(4L);
+        assertThat(engine.stats().items()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Пакет вещей применяется одним изменением и даёт тот же индекс, что полное перестроение")
+    void onItemsSaved_shouldMatchRebuild() {
+        List<Item> batch = new ArrayList<>();
+        for (long id = 10; id < 1010; id++) {
+            batch.add(new Item(id, "Drill " + id, "Power tool", owner, id % 10 != 0, null));
+        }
+        // вещь из индекса обновляется и становится недоступной в той же пачке
+        batch.add(new Item(2L, "Cordless Drill", "Power tool", owner, false, null));
+
+        engine.onItemsSaved(batch);
+        engine.awaitPendingUpdates();
+
+        List<Item> indexed = new ArrayList<>(List.of(
+                new Item(1L, "Bag", "Bag for a drill", owner, true, null),
+                new Item(3L, "Hammer", "Steel hammer", owner, true, null)));
+        batch.stream().filter(Item::getAvailable).forEach(indexed::add);
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(indexed);
+        InMemoryItemSearchEngine rebuilt =
+                new InMemoryItemSearchEngine(itemRepository, bookingRepository, new SimpleMeterRegistry());
+        rebuilt.afterSingletonsInstantiated();
+
+        assertThat(engine.stats()).isEqualTo(rebuilt.stats());
+        assertThat(engine.search("drill", PageRequest.of(0, 2000))).extracting(Item::getId)
+                .containsExactlyElementsOf(rebuilt.search("drill", PageRequest.of(0, 2000)).stream()
+                        .map(Item::getId).toList())
+                .hasSize(901)
+                .doesNotContain(2L, 20L);
+    }
+
+    @Test
+    @DisplayName("Удаление владельца снимает все его вещи одним изменением")
+    void onOwnerDeleted_shouldRemoveAllOwnedItems() {
+        User other = new User(2L, "Other", "other@mail.com");
+        List<Item> batch = new ArrayList<>();
+        for (long id = 10; id < 510; id++) {
+            batch.add(new Item(id, "Drill " + id, "Power tool", owner, true, null));
+        }
+        batch.add(new Item(600L, "Drill press", "Bench tool", other, true, null));
+        engine.onItemsSaved(batch);
+
+        engine.onOwnerDeleted(1L);
+        engine.awaitPendingUpdates();
+
+        assertThat(engine.search("drill", PageRequest.of(0, 1000))).extracting(Item::getId).containsExactly(600L);
+        assertThat(engine.stats().items()).isEqualTo(1);
+        Set<String> remaining = InMemoryItemSearchEngine.grams("drill press");
+        remaining.addAll(InMemoryItemSearchEngine.grams("bench tool"));
+        assertThat(engine.stats().terms()).isEqualTo(remaining.size());
+    }
+
+    @Test
+    @DisplayName("Статистика индекса учитывает размер списков и документов")
+    void stats_shouldReportMemoryUsage() {
+        InMemoryItemSearchEngine.IndexStats before = engine.stats();
+
+        engine.onItemSaved(new Item(4L, "Drill press", "Bench tool", owner, true, null));
+        engine.awaitPendingUpdates();
+
+        InMemoryItemSearchEngine.IndexStats after = engine.stats();
+        assertThat(after.items()).isEqualTo(4);
+        assertThat(after.estimatedBytes()).isGreaterThan(before.estimatedBytes());
+        assertThat(after.bytesPer100kItems()).isPositive();
+
+        engine.onItemDeleted(4L);
+        engine.awaitPendingUpdates();
+
+        assertThat(engine.stats().estimatedBytes()).isEqualTo(before.estimatedBytes());
+    }
+
+    @Test
+    @DisplayName("Сжатый список ID сохраняет порядок и поддерживает вставку и удаление")
+    void postingList_shouldRoundTrip() {
+        PostingList list = PostingList.of(new long[]{3, 130, 70_000, 5_000_000_000L});
+
+        assertThat(list.with(1).without(130).toArray()).containsExactly(1, 3, 70_000, 5_000_000_000L);
+        assertThat(list.sizeInBytes()).isLessThan(4 * Long.BYTES);
+    }
+}
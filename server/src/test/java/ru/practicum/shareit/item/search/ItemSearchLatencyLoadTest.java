@@ -0,0 +1,148 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.dataset.DatasetLoader;
+import ru.practicum.shareit.dataset.DatasetSpec;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Поиск по индексу в памяти на наборе из модуля dataset (100 тыс. вещей, 50 тыс. комментариев) в отдельной H2.
+// Индекс отвечает без БД, но ItemServiceImpl.searchItems дочитывает комментарии найденных вещей одним запросом,
+// поэтому перцентили снимаются и для движка, и для всего searchItems. Отдельно — короткий запрос без совпадений,
+// который просматривает все документы, и обновления: сколько стоит постановка в очередь на потоке запроса
+// и сколько — применение потоком-писателем. Итоги пишутся в лог на INFO:
+//   mvn -pl server test -Pload-test -Dtest=ItemSearchLatencyLoadTest
+@Slf4j
+@Tag("load")
+@SpringBootTest(properties = {
+        "spring.datasource.name=item-search-latency",
+        "shareit.search.engine=memory",
+        "logging.level.ru.practicum.shareit.item.service=WARN"
+})
+@AutoConfigureTestDatabase
+class ItemSearchLatencyLoadTest {
+
+    private static final DatasetSpec SPEC = DatasetSpec.parse("users=2000", "requests=0", "items=100000",
+            "bookings=100000", "comments=50000");
+    private static final List<String> QUERIES = List.of("item 12345", "item 777", "bosch", "палатка", "дрель xiaomi",
+            "bo", "ит");
+    private static final int WARMUP = 200;
+    private static final int MEASURED = 2_000;
+    private static final int UPDATES = 200;
+
+    private static boolean loaded;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private InMemoryItemSearchEngine engine;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (!loaded) {
+            DatasetLoader.load(dataSource, SPEC);
+            engine.rebuild();
+            loaded = true;
+        }
+    }
+
+    @Test
+    @DisplayName("Поиск: перцентили движка и searchItems вместе с запросом комментариев")
+    void search_latency() {
+        long[] engineOnly = measure(i -> engine.search(query(i), PageRequest.of(0, 20)));
+        long[] withComments = measure(i -> itemService.searchItems(query(i), null, null, 0, 20));
+        long[] shortMiss = measure(i -> engine.search("zq", PageRequest.of(0, 20)));
+
+        log.info("Поиск по {} вещам, {} запросов: движок p50={} мс, p99={} мс; searchItems с комментариями "
+                        + "p50={} мс, p99={} мс; короткий запрос без совпадений p50={} мс, p99={} мс",
+                engine.stats().items(), MEASURED, millis(engineOnly, 0.5), millis(engineOnly, 0.99),
+                millis(withComments, 0.5), millis(withComments, 0.99),
+                millis(shortMiss, 0.5), millis(shortMiss, 0.99));
+
+        Collection<ItemDto> found = itemService.searchItems("item 12345", null, null, 0, 20);
+        assertThat(found).extracting(ItemDto::getId).containsExactly(12345L);
+    }
+
+    @Test
+    @DisplayName("Обновления: поток запроса только ставит изменение в очередь, индекс меняет поток-писатель")
+    void update_latency() {
+        List<Item> items = itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(0L, Limit.of(UPDATES));
+        long[] enqueued = new long[UPDATES];
+        long[] applied = new long[UPDATES];
+        for (int i = 0; i < UPDATES; i++) {
+            Item item = items.get(i);
+            item.setName(item.getName() + " renamed");
+            long started = System.nanoTime();
+            engine.onItemSaved(item);
+            enqueued[i] = System.nanoTime() - started;
+            engine.awaitPendingUpdates();
+            applied[i] = System.nanoTime() - started;
+        }
+
+        long started = System.nanoTime();
+        items.forEach(item -> {
+            item.setName(item.getName() + " again");
+            engine.onItemSaved(item);
+        });
+        engine.awaitPendingUpdates();
+        long burst = System.nanoTime() - started;
+
+        Arrays.sort(enqueued);
+        Arrays.sort(applied);
+        log.info("Обновления по одной вещи: постановка в очередь p50={} мс, p99={} мс; применение p50={} мс, "
+                        + "p99={} мс; {} обновлений подряд применены за {} мс",
+                millis(enqueued, 0.5), millis(enqueued, 0.99), millis(applied, 0.5), millis(applied, 0.99),
+                UPDATES, "%.2f".formatted(burst / 1_000_000.0));
+
+        assertThat(engine.search("renamed again", PageRequest.of(0, 1000))).hasSize(UPDATES);
+    }
+
+    private static String query(int i) {
+        return QUERIES.get(i % QUERIES.size());
+    }
+
+    private static long[] measure(IntFunction<?> call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.apply(i);
+        }
+        long[] latencies = new long[MEASURED];
+        for (int i = 0; i < MEASURED; i++) {
+            long started = System.nanoTime();
+            call.apply(i);
+            latencies[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static String millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return "%.2f".formatted(sorted[Math.max(index, 0)] / 1_000_000.0);
+    }
+}
@@ -12,12 +12,15 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCardCache;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -42,6 +45,9 @@ class CommentServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ItemCardCache itemCardCache;
+
     @InjectMocks
     private CommentServiceImpl commentService;
 
@@ -119,7 +125,7 @@ class CommentServiceImplTest {
     @Test
     @DisplayName("getCommentsByItem — бросает ConflictException при itemId = null")
     void getCommentsByItem_shouldThrow_whenIdNull() {
-        assertThatThrownBy(() -> commentService.getCommentsByItem(null))
+        assertThatThrownBy(() -> commentService.getCommentsByItem(null, null, 20))
                 .isInstanceOf(ConflictException.class);
     }
 
@@ -127,11 +133,33 @@ class CommentServiceImplTest {
     @DisplayName("getCommentsByItem — возвращает список комментариев при валидных данных")
     void getCommentsByItem_shouldReturnComments() {
         Comment comment = new Comment(1L, "Отлично", LocalDateTime.now(), item, user);
-        when(commentRepository.findByItemId(anyLong())).thenReturn(List.of(comment));
+        when(commentRepository.findCommentPage(eq(10L), any(), eq(Long.MAX_VALUE), any()))
+                .thenReturn(List.of(CommentMapper.toCommentDto(comment)));
 
-        List<CommentDto> result = commentService.getCommentsByItem(10L);
+        List<CommentDto> result = commentService.getCommentsByItem(10L, null, 20);
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getText()).isEqualTo("Отлично");
     }
+
+    @Test
+    @DisplayName("getCommentsByItem — следующая страница читается строго после курсора")
+    void getCommentsByItem_shouldContinueAfterCursor() {
+        LocalDateTime created = LocalDateTime.of(2026, 1, 1, 10, 0);
+        when(commentRepository.findCommentPage(eq(10L), eq(created), eq(15L), any())).thenReturn(List.of());
+
+        assertThat(commentService.getCommentsByItem(10L, KeysetCursor.after(created, 15L), 20))
+                .isEmpty();
+        verify(commentRepository).findCommentPage(eq(10L), eq(created), eq(15L), any());
+    }
+
+    @Test
+    @DisplayName("getCommentsByItem — некорректный курсор или размер страницы выбрасывает ValidationException")
+    void getCommentsByItem_shouldRejectInvalidCursorAndSize() {
+        assertThatThrownBy(() -> commentService.getCommentsByItem(10L, "not-a-cursor", 20))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> commentService.getCommentsByItem(10L, null, 0))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(commentRepository);
+    }
 }
\ No newline at end of file
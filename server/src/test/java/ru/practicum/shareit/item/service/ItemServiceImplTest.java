@@ -14,6 +14,10 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCardCache;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
@@ -21,16 +25,24 @@ import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -39,6 +51,8 @@ class ItemServiceImplTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserExistenceCache userExistenceCache;
 
     @Mock
     private ItemRepository itemRepository;
@@ -52,6 +66,12 @@ class ItemServiceImplTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private ItemCardCache itemCardCache;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -69,20 +89,22 @@ class ItemServiceImplTest {
     @DisplayName("Создание вещи — успешный сценарий без запроса")
     void createItem_shouldCreateSuccessfully() {
         ItemCreateDto dto = new ItemCreateDto("Item", "Item description", true, null);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(userExistenceCache.exists(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(owner);
         when(itemRepository.save(any(Item.class))).thenReturn(item);
-        when(commentRepository.findByItemId(10L)).thenReturn(List.of());
 
         ItemDto result = itemService.createItem(1L, dto);
 
         assertThat(result.getName()).isEqualTo("Item");
+        assertThat(result.getCommentCount()).isZero();
         verify(itemRepository).save(any(Item.class));
+        verifyNoInteractions(commentRepository);
     }
 
     @Test
     @DisplayName("Создание вещи — владелец не найден")
     void createItem_shouldThrowWhenOwnerNotFound() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userExistenceCache.exists(1L)).thenReturn(false);
         ItemCreateDto dto = new ItemCreateDto("Item", "Item description", true, null);
 
         assertThrows(NotFoundException.class, () -> itemService.createItem(1L, dto));
@@ -92,13 +114,67 @@ class ItemServiceImplTest {
     @DisplayName("Создание вещи — requestId указан, но запрос не найден")
     void createItem_shouldThrowWhenRequestNotFound() {
         ItemCreateDto dto = new ItemCreateDto("Item", "Item description", true, 5L);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(userExistenceCache.exists(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(owner);
         when(itemRequestRepository.findById(5L)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.createItem(1L, dto));
     }
 
 
+    @Test
+    @DisplayName("Пакетное создание вещей — запросы читаются одним findAllById, вещи сохраняются одним saveAll")
+    void createItems_shouldLoadRequestsOnceAndSaveAll() {
+        ItemRequest request = new ItemRequest(5L, "Нужна дрель", new User(2L, "Booker", "b@mail.com"),
+                LocalDateTime.now());
+        List<ItemCreateDto> dtos = List.of(
+                new ItemCreateDto("Drill", "Power drill", true, 5L),
+                new ItemCreateDto("Saw", "Hand saw", true, null),
+                new ItemCreateDto("Drill 2", "Another drill", false, 5L));
+        when(userExistenceCache.exists(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(owner);
+        when(itemRequestRepository.findAllById(List.of(5L))).thenReturn(List.of(request));
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ItemDto> result = itemService.createItems(1L, dtos);
+
+        assertThat(result).extracting(ItemDto::getName).containsExactly("Drill", "Saw", "Drill 2");
+        assertThat(result).extracting(ItemDto::getRequestId).containsExactly(5L, null, 5L);
+        verify(itemRepository).saveAll(anyList());
+        verify(itemSearchEngine).onItemsSaved(argThat(items -> items.size() == 3));
+        verify(itemSearchEngine, never()).onItemSaved(any(Item.class));
+        verify(itemRequestRepository, never()).findById(any());
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    @DisplayName("Пакетное создание вещей — один из запросов не найден, ничего не сохраняется")
+    void createItems_shouldThrowWhenAnyRequestNotFound() {
+        List<ItemCreateDto> dtos = List.of(
+                new ItemCreateDto("Drill", "Power drill", true, 5L),
+                new ItemCreateDto("Saw", "Hand saw", true, 6L));
+        when(userExistenceCache.exists(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(owner);
+        when(itemRequestRepository.findAllById(List.of(5L, 6L))).thenReturn(List.of(
+                new ItemRequest(5L, "Нужна дрель", owner, LocalDateTime.now())));
+
+        NotFoundException e = assertThrows(NotFoundException.class, () -> itemService.createItems(1L, dtos));
+
+        assertThat(e.getMessage()).contains("6");
+        verify(itemRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Пакетное создание вещей — больше 1000 вещей в одном запросе")
+    void createItems_shouldThrowWhenBatchTooLarge() {
+        List<ItemCreateDto> dtos = Collections.nCopies(1001,
+                new ItemCreateDto("Item", "Item description", true, null));
+
+        assertThrows(ValidationException.class, () -> itemService.createItems(1L, dtos));
+        verifyNoInteractions(itemRepository, userExistenceCache);
+    }
+
+
     @Test
     @DisplayName("Обновление вещи — успешный сценарий")
     void updateItem_shouldUpdateSuccessfully() {
@@ -138,7 +214,7 @@ class ItemServiceImplTest {
     @DisplayName("Получение вещи по ID владельцем — содержит бронирования")
     void getItemById_asOwner_shouldIncludeBookings() {
         when(itemRepository.findById(10L)).thenReturn(Optional.of(item));
-        when(commentRepository.findByItemId(10L)).thenReturn(List.of());
+        when(commentRepository.findFirstCommentPage(eq(10L), anyInt())).thenReturn(List.of());
         Booking last = new Booking(100L, LocalDateTime.now().minusDays(2),
                 LocalDateTime.now().minusDays(1), item, owner, Status.APPROVED);
         when(bookingRepository.findLastBooking(eq(10L), any(), eq(Status.APPROVED), any(PageRequest.class)))
@@ -156,7 +232,7 @@ class ItemServiceImplTest {
     @DisplayName("Получение вещи — не владелец, без бронирований")
     void getItemById_asOtherUser_shouldHideBookings() {
         when(itemRepository.findById(10L)).thenReturn(Optional.of(item));
-        when(commentRepository.findByItemId(10L)).thenReturn(List.of());
+        when(commentRepository.findFirstCommentPage(eq(10L), anyInt())).thenReturn(List.of());
 
         ItemWithBookingsDto dto = itemService.getItemById(2L, 10L);
 
@@ -167,21 +243,53 @@ class ItemServiceImplTest {
     @Test
     @DisplayName("Поиск по тексту — пустая строка возвращает пустой список")
     void searchItems_blankQuery_returnsEmptyList() {
-        assertThat(itemService.searchItems("   ")).isEmpty();
+        assertThat(itemService.searchItems("   ", null, null, 0, 100)).isEmpty();
     }
 
     @Test
     @DisplayName("Поиск по тексту — успешный сценарий")
     void searchItems_shouldReturnFoundItems() {
-        when(itemRepository.search("item")).thenReturn(List.of(item));
-        when(commentRepository.findByItemIds(List.of(10L))).thenReturn(List.of());
+        when(itemSearchEngine.search(eq("item"), any())).thenReturn(List.of(item));
+        when(commentRepository.findCommentPreviews(eq(List.of(10L)), anyInt())).thenReturn(List.of());
 
-        List<ItemDto> result = (List<ItemDto>) itemService.searchItems("item");
+        List<ItemDto> result = (List<ItemDto>) itemService.searchItems("item", null, null, 0, 100);
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo("Item");
     }
 
+    @Test
+    @DisplayName("Поиск свободных на период вещей — запрос уходит в поиск с фильтром по бронированиям")
+    void searchItems_withPeriod_shouldSearchAvailableOnly() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(2);
+        when(itemSearchEngine.searchAvailable(eq("item"), eq(start), eq(end), any())).thenReturn(List.of(item));
+        when(commentRepository.findCommentPreviews(eq(List.of(10L)), anyInt())).thenReturn(List.of());
+
+        assertThat(itemService.searchItems("item", start, end, 0, 100)).hasSize(1);
+        verify(itemSearchEngine, never()).search(any(), any());
+    }
+
+    @Test
+    @DisplayName("Поиск свободных на период вещей — неполный или пустой период выбрасывает ValidationException")
+    void searchItems_invalidPeriod_shouldThrow() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        assertThrows(ValidationException.class, () -> itemService.searchItems("item", start, null, 0, 100));
+        assertThrows(ValidationException.class, () -> itemService.searchItems("item", null, start, 0, 100));
+        assertThrows(ValidationException.class, () -> itemService.searchItems("item", start, start, 0, 100));
+        verifyNoInteractions(itemSearchEngine);
+    }
+
+    @Test
+    @DisplayName("Поиск с отрицательным from или размером страницы вне 1–1000 выбрасывает ValidationException")
+    void searchItems_invalidPage_shouldThrow() {
+        assertThrows(ValidationException.class, () -> itemService.searchItems("item", null, null, 0, 0));
+        assertThrows(ValidationException.class, () -> itemService.searchItems("item", null, null, 0, 1001));
+        assertThrows(ValidationException.class, () -> itemService.searchItems("item", null, null, -1, 100));
+        verifyNoInteractions(itemSearchEngine);
+    }
+
 
     @Test
     @DisplayName("Удаление вещи — успешный сценарий")
@@ -233,5 +341,56 @@ class ItemServiceImplTest {
                 () -> itemService.getAllItemsByOwner(null));
     }
 
+    @Test
+    @DisplayName("getItemAvailability — занятые интервалы обрезаются по периоду, смежные склеиваются")
+    void getItemAvailability_shouldBuildContinuousCalendar() {
+        LocalDateTime from = LocalDateTime.of(2026, 1, 10, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        when(itemRepository.existsById(10L)).thenReturn(true);
+        when(bookingRepository.findBusyIntervals(10L, Status.APPROVED, from, to)).thenReturn(List.of(
+                new AvailabilityIntervalDto(from.minusDays(2), from.plusDays(1), false),
+                new AvailabilityIntervalDto(from.plusDays(3), from.plusDays(4), false),
+                new AvailabilityIntervalDto(from.plusDays(4), from.plusDays(5), false),
+                new AvailabilityIntervalDto(from.plusDays(9), to.plusDays(3), false)));
+
+        ItemAvailabilityDto result = itemService.getItemAvailability(10L, from, to);
+
+        assertThat(result.getIntervals()).containsExactly(
+                new AvailabilityIntervalDto(from, from.plusDays(1), false),
+                new AvailabilityIntervalDto(from.plusDays(1), from.plusDays(3), true),
+                new AvailabilityIntervalDto(from.plusDays(3), from.plusDays(5), false),
+                new AvailabilityIntervalDto(from.plusDays(5), from.plusDays(9), true),
+                new AvailabilityIntervalDto(from.plusDays(9), to, false));
+    }
+
+    @Test
+    @DisplayName("getItemAvailability — без бронирований весь период свободен, по умолчанию 90 дней")
+    void getItemAvailability_shouldReturnSingleFreeIntervalByDefault() {
+        when(itemRepository.existsById(10L)).thenReturn(true);
+        when(bookingRepository.findBusyIntervals(eq(10L), eq(Status.APPROVED), any(), any())).thenReturn(List.of());
 
-}
\ No newline at end of file
+        ItemAvailabilityDto result = itemService.getItemAvailability(10L, null, null);
+
+        assertThat(result.getTo()).isEqualTo(result.getFrom().plusDays(90));
+        assertThat(result.getIntervals()).containsExactly(
+                new AvailabilityIntervalDto(result.getFrom(), result.getTo(), true));
+    }
+
+    @Test
+    @DisplayName("getItemAvailability — некорректный или слишком длинный период выбрасывает ValidationException")
+    void getItemAvailability_shouldRejectInvalidPeriod() {
+        LocalDateTime from = LocalDateTime.of(2026, 1, 10, 0, 0);
+
+        assertThrows(ValidationException.class, () -> itemService.getItemAvailability(10L, from, from));
+        assertThrows(ValidationException.class, () -> itemService.getItemAvailability(10L, from, from.plusDays(400)));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    @DisplayName("getItemAvailability — вещь не найдена выбрасывает NotFoundException")
+    void getItemAvailability_shouldThrowWhenItemNotFound() {
+        when(itemRepository.existsById(10L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemService.getItemAvailability(10L, null, null));
+    }
+}
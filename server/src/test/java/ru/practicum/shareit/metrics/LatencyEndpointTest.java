@@ -0,0 +1,125 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@Transactional
+class LatencyEndpointTest {
+
+    @Autowired
+    private LatencyEndpoint latencyEndpoint;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "latency-owner@mail.com"));
+    }
+
+    @Test
+    @DisplayName("Выборки бронирований замеряются отдельно по каждому state")
+    void serviceCalls_shouldBeTimedPerStateBranch() {
+        bookingService.getOwnerBookings(owner.getId(), "current", null, 10);
+        bookingService.getOwnerBookings(owner.getId(), "PAST", null, 10);
+
+        List<OperationLatency> rows = latencyEndpoint.operation("BookingServiceImpl.getOwnerBookings");
+
+        assertThat(rows).extracting(OperationLatency::branch).contains("CURRENT", "PAST");
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.layer()).isEqualTo("service");
+            assertThat(row.count()).isPositive();
+            assertThat(row.p99Ms()).isGreaterThanOrEqualTo(row.p50Ms());
+            assertThat(row.maxMs()).isPositive();
+        });
+    }
+
+    @Test
+    @DisplayName("Исключение попадает в тег exception, вызов всё равно замерен")
+    void failedCall_shouldBeTimedWithExceptionTag() {
+        assertThrows(NotFoundException.class, () -> bookingService.getUserBookings(-1L, "ALL", null, 10));
+
+        assertThat(latencyEndpoint.operation("BookingServiceImpl.getUserBookings"))
+                .anySatisfy(row -> assertThat(row.exception()).isEqualTo("NotFoundException"));
+    }
+
+    @Test
+    @DisplayName("Контроллер замеряется отдельно от сервиса, ветка — из параметра state")
+    void controllerCalls_shouldBeTimed() throws Exception {
+        mockMvc.perform(get("/bookings/owner").param("state", "waiting")
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(latencyEndpoint.latencies())
+                .anySatisfy(row -> {
+                    assertThat(row.layer()).isEqualTo("controller");
+                    assertThat(row.operation()).isEqualTo("BookingController.getOwnerBookings");
+                    assertThat(row.branch()).isEqualTo("WAITING");
+                    assertThat(row.exception()).isEqualTo("none");
+                })
+                .anySatisfy(row -> {
+                    assertThat(row.operation()).isEqualTo("BookingServiceImpl.getOwnerBookings");
+                    assertThat(row.branch()).isEqualTo("WAITING");
+                });
+    }
+
+    @Test
+    @DisplayName("Произвольные state из запроса не раздувают число метрик: лишние ветки уходят в OTHER")
+    void unboundedBranches_shouldBeCapped() {
+        for (int i = 0; i < 3 * OperationTimingAspect.MAX_BRANCHES; i++) {
+            bookingService.getUserBookings(owner.getId(), "junk-" + i, null, 10);
+        }
+
+        List<String> branches = latencyEndpoint.operation("BookingServiceImpl.getUserBookings").stream()
+                .map(OperationLatency::branch)
+                .distinct()
+                .toList();
+        assertThat(branches).hasSizeLessThanOrEqualTo(OperationTimingAspect.MAX_BRANCHES + 1)
+                .contains(OperationTimingAspect.OTHER_BRANCH);
+    }
+
+    @Test
+    @DisplayName("Методы без @TimedBranch идут с веткой \"-\", репозитории не замеряются")
+    void operationsWithoutBranch_shouldUseDash() {
+        userService.getUserById(owner.getId());
+
+        assertThat(latencyEndpoint.operation("UserServiceImpl.getUserById"))
+                .isNotEmpty()
+                .allSatisfy(row -> assertThat(row.branch()).isEqualTo("-"));
+        assertThat(latencyEndpoint.latencies())
+                .noneMatch(row -> row.operation().contains("Repository"));
+    }
+}
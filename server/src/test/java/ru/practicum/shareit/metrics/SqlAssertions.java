@@ -0,0 +1,41 @@
+package ru.practicum.shareit.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Закрепление числа SQL за эндпоинтом или методом сервиса в интеграционных тестах:
+//   assertStatements(2, () -> mockMvc.perform(get("/bookings").header(...)));
+// Считает SqlTrackingDataSource, то есть реальные выполнения на JDBC, включая nextval и пачки INSERT.
+// При несовпадении в сообщении перечислены выполненные SQL.
+public final class SqlAssertions {
+
+    private SqlAssertions() {
+    }
+
+    public static SqlStats captureSql(SqlCall call) throws Exception {
+        try (SqlStats stats = SqlStats.begin()) {
+            call.run();
+            return stats;
+        }
+    }
+
+    public static SqlStats assertStatements(int expected, SqlCall call) throws Exception {
+        SqlStats stats = captureSql(call);
+        assertThat(stats.getStatements())
+                .as("Число SQL-запросов:%n%s", stats.describe(Integer.MAX_VALUE))
+                .isEqualTo(expected);
+        return stats;
+    }
+
+    public static SqlStats assertMaxStatements(int max, SqlCall call) throws Exception {
+        SqlStats stats = captureSql(call);
+        assertThat(stats.getStatements())
+                .as("Число SQL-запросов:%n%s", stats.describe(Integer.MAX_VALUE))
+                .isLessThanOrEqualTo(max);
+        return stats;
+    }
+
+    @FunctionalInterface
+    public interface SqlCall {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SqlStatsFilterTest {
+    private static final String ITEM_SQL = "select i1_0.id from items i1_0 where i1_0.id=?";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatsFilter filter = new SqlStatsFilter(meterRegistry, 3, 100, Duration.ofMillis(500));
+
+    @Test
+    @DisplayName("Запрос выше порога по числу SQL — WARN с повторяющимся SELECT и числом выполнений")
+    void request_shouldBeLogged_whenStatementsExceedThreshold(CapturedOutput output) throws Exception {
+        filter.doFilter(request("/items/42"), new MockHttpServletResponse(), executing(5, ITEM_SQL));
+
+        assertThat(output).contains("GET /items/42: 5 SQL", "statements > 3", "5 × ", ITEM_SQL);
+        assertThat(meterRegistry.find(SqlStatsFilter.STATEMENTS_METER).tags("uri", "/items/{itemId}").summary()
+                .totalAmount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Запрос в пределах порогов не логируется, но попадает в метрики")
+    void request_shouldOnlyBeMeasured_whenWithinThresholds(CapturedOutput output) throws Exception {
+        filter.doFilter(request("/items/42"), new MockHttpServletResponse(), executing(2, ITEM_SQL));
+
+        assertThat(output).doesNotContain(ITEM_SQL);
+        assertThat(meterRegistry.find(SqlStatsFilter.ROWS_METER).tags("uri", "/items/{itemId}").summary()
+                .totalAmount()).isEqualTo(2);
+        assertThat(SqlStats.current()).isNull();
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{itemId}");
+        return request;
+    }
+
+    // так пишет SqlTrackingDataSource: по выполнению на каждый SELECT, по строке на каждый next()
+    private static FilterChain executing(int times, String sql) {
+        return (request, response) -> {
+            for (int i = 0; i < times; i++) {
+                SqlStats.current().recordExecution(sql, 0, 1_000_000);
+                SqlStats.current().recordRow(sql);
+            }
+        };
+    }
+}
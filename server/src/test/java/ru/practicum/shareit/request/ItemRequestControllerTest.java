@@ -46,14 +46,14 @@ class ItemRequestControllerTest {
                 1L,
                 "Требуется красная вещь",
                 LocalDateTime.of(2025, 10, 8, 10, 0),
-                List.of(new ItemDto(1L, "Красная вещь", "Описание", true, null, List.of()))
+                List.of(new ItemDto(1L, "Красная вещь", "Описание", true, null, 0L, List.of()))
         );
 
         greenRequest = new ItemRequestDto(
                 2L,
                 "Требуется зеленая вещь",
                 LocalDateTime.of(2025, 10, 7, 12, 0),
-                List.of(new ItemDto(2L, "Зеленая вещь", "Описание", true, null, List.of()))
+                List.of(new ItemDto(2L, "Зеленая вещь", "Описание", true, null, 0L, List.of()))
         );
     }
 
@@ -49,7 +49,7 @@ class ItemRequestMapperTest {
                 new User(2L, "Oleg", "oleg@mail.ru"),
                 created
         );
-        List<ItemDto> items = List.of(new ItemDto(1L, "Вещь", "Описание", true, null, List.of()));
+        List<ItemDto> items = List.of(new ItemDto(1L, "Вещь", "Описание", true, null, 0L, List.of()));
 
         ItemRequestDto result = ItemRequestMapper.toItemRequestDto(request, items);
 
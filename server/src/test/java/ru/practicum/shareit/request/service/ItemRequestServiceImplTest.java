@@ -15,8 +15,10 @@ import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
@@ -37,6 +39,8 @@ class ItemRequestServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserExistenceCache userExistenceCache;
+    @Mock
     private ItemRepository itemRepository;
     @Mock
     private ItemService itemService;
@@ -58,7 +62,8 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("createRequest — успешное создание запроса")
     void createRequest_shouldCreateSuccessfully() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(requestRepository.save(any(ItemRequest.class))).thenReturn(request);
 
         ItemRequestDto result = itemRequestService.createRequest(1L, new ItemRequestCreateDto("Требуется тестовая вещь"));
@@ -79,7 +84,7 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("createRequest — ошибка при несуществующем пользователе")
     void createRequest_shouldThrowWhenUserNotFound() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userExistenceCache.exists(anyLong())).thenReturn(false);
         assertThrows(NotFoundException.class,
                 () -> itemRequestService.createRequest(999L, new ItemRequestCreateDto("desc")));
     }
@@ -88,10 +93,10 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("getUserRequests — возвращает список запросов пользователя")
     void getUserRequests_shouldReturnList() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(requestRepository.findByRequesterIdOrderByCreatedDesc(1L))
-                .thenReturn(List.of(request));
-        when(itemRepository.findByRequestIdIn(anyList())).thenReturn(List.of());
+        when(userExistenceCache.exists(1L)).thenReturn(true);
+        when(requestRepository.findRequestDtosByRequesterId(1L))
+                .thenReturn(List.of(ItemRequestMapper.toItemRequestDto(request, List.of())));
+        when(itemRepository.findItemDtosByRequestIdIn(anyList())).thenReturn(List.of());
 
         List<ItemRequestDto> result = itemRequestService.getUserRequests(1L);
 
@@ -111,9 +116,9 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("getRequestById — успешное получение запроса")
     void getRequestById_shouldReturnRequest() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(1L)).thenReturn(true);
         when(requestRepository.findById(1L)).thenReturn(Optional.of(request));
-        when(itemRepository.findByRequestIdIn(anyList())).thenReturn(List.of());
+        when(itemRepository.findItemDtosByRequestIdIn(anyList())).thenReturn(List.of());
 
         ItemRequestDto result = itemRequestService.getRequestById(1L, 1L);
         assertThat(result.getId()).isEqualTo(1L);
@@ -123,20 +128,20 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("getUserRequests — возвращает пустой список, если у пользователя нет запросов")
     void getUserRequests_shouldReturnEmptyListWhenNoRequests() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(requestRepository.findByRequesterIdOrderByCreatedDesc(1L)).thenReturn(List.of());
+        when(userExistenceCache.exists(1L)).thenReturn(true);
+        when(requestRepository.findRequestDtosByRequesterId(1L)).thenReturn(List.of());
 
         List<ItemRequestDto> result = itemRequestService.getUserRequests(1L);
 
         assertThat(result).isEmpty();
-        verify(itemRepository, never()).findByRequestIdIn(anyList());
+        verify(itemRepository, never()).findItemDtosByRequestIdIn(anyList());
     }
 
 
     @Test
     @DisplayName("getRequestById — ошибка если запрос не найден")
     void getRequestById_shouldThrowWhenNotFound() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(1L)).thenReturn(true);
         when(requestRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
@@ -157,10 +162,10 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("getAllRequests — возвращает чужие запросы")
     void getAllRequests_shouldReturnOtherUsersRequests() {
-        when(userRepository.findById(2L)).thenReturn(Optional.of(new User(2L, "Oleg", "oleg@mail.ru")));
-        when(requestRepository.findAllByRequesterIdNotOrderByCreatedDesc(eq(2L), any(PageRequest.class)))
-                .thenReturn(List.of(request));
-        when(itemRepository.findByRequestIdIn(anyList())).thenReturn(List.of());
+        when(userExistenceCache.exists(2L)).thenReturn(true);
+        when(requestRepository.findRequestDtosByRequesterIdNot(eq(2L), any(PageRequest.class)))
+                .thenReturn(List.of(ItemRequestMapper.toItemRequestDto(request, List.of())));
+        when(itemRepository.findItemDtosByRequestIdIn(anyList())).thenReturn(List.of());
 
         List<ItemRequestDto> result = itemRequestService.getAllRequests(2L, 0, 10);
         assertThat(result).hasSize(1);
@@ -179,7 +184,7 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("getAllRequests — ошибка если userId не найден")
     void getAllRequests_shouldThrowWhenUserNotFound() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userExistenceCache.exists(anyLong())).thenReturn(false);
         assertThrows(NotFoundException.class,
                 () -> itemRequestService.getAllRequests(99L, 0, 10));
     }
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.user.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UserExistenceCacheTest {
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private UserExistenceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserExistenceCache(userRepository, meterRegistry, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("exists — повторная проверка существующего пользователя не обращается к БД")
+    void exists_shouldCachePositiveAnswer() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        assertThat(cache.exists(1L)).isTrue();
+        assertThat(cache.exists(1L)).isTrue();
+
+        verify(userRepository, times(1)).existsById(1L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("exists — отсутствие пользователя не кэшируется")
+    void exists_shouldNotCacheNegativeAnswer() {
+        when(userRepository.existsById(2L)).thenReturn(false, true);
+
+        assertThat(cache.exists(2L)).isFalse();
+        assertThat(cache.exists(2L)).isTrue();
+
+        verify(userRepository, times(2)).existsById(2L);
+    }
+
+    @Test
+    @DisplayName("evict — после удаления пользователь снова проверяется в БД")
+    void evict_shouldForceRecheck() {
+        when(userRepository.existsById(3L)).thenReturn(true, false);
+
+        assertThat(cache.exists(3L)).isTrue();
+        cache.evict(3L);
+
+        assertThat(cache.exists(3L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("exists — ответ, прочитанный до evict, не кэшируется")
+    void exists_shouldNotCacheAnswerReadBeforeEviction() {
+        // пользователь удаляется, пока идёт проверка: БД ещё видит его, evict уже выполнен
+        when(userRepository.existsById(4L)).thenAnswer(invocation -> {
+            cache.evict(4L);
+            return true;
+        }).thenReturn(false);
+
+        assertThat(cache.exists(4L)).isTrue();
+        assertThat(cache.exists(4L)).isFalse();
+        verify(userRepository, times(2)).existsById(4L);
+    }
+}